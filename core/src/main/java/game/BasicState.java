@@ -1,5 +1,7 @@
 package game;
 
+import util.MoveSink;
+
 /**
  * Represents the state of a game whose moves are described by a single object.
  * From a user interface-centric viewpoint, it is suitable for games whose moves
@@ -23,4 +25,18 @@ public interface BasicState<T> extends State {
      */
     void makeMove(T move);
 
+    /**
+     * Passes all moves that can be applied to the state to the sink provided.
+     * Implementations should override this method to support searching the
+     * game tree. The default implementation throws an
+     * {@link UnsupportedOperationException}.
+     *
+     * @param sink the sink to receive the moves
+     * @throws UnsupportedOperationException if move generation is not
+     * supported
+     */
+    default void generateMoves(MoveSink<? super T> sink) {
+        throw new UnsupportedOperationException();
+    }
+
 }
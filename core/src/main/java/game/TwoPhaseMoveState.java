@@ -1,5 +1,7 @@
 package game;
 
+import util.TwoPhaseMoveSink;
+
 /**
  * Represents the state of a game whose moves are described by two objects,
  * i.e., {@code from} and {@code to}. From a user interface-centric viewpoint,
@@ -36,4 +38,28 @@ public interface TwoPhaseMoveState<T> extends State {
      */
     void makeMove(T from, T to);
 
+    /**
+     * Passes all moves that can be applied to the state to the sink provided.
+     * Implementations should override this method to support searching the
+     * game tree. The default implementation throws an
+     * {@link UnsupportedOperationException}.
+     *
+     * @param sink the sink to receive the moves
+     * @throws UnsupportedOperationException if move generation is not
+     * supported
+     */
+    default void generateMoves(TwoPhaseMoveSink<? super T> sink) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Represents moves that are described by two objects, i.e., {@code from}
+     * and {@code to}.
+     *
+     * @param from represents where to move from
+     * @param to represents where to move to
+     * @param <T> represents the type of the source and the target of the moves
+     */
+    record TwoPhaseMove<T>(T from, T to) {}
+
 }
@@ -1,7 +1,6 @@
 package game.console;
 
 import game.TwoPhaseMoveState;
-import game.util.TwoPhaseMoveSelector;
 
 import java.util.function.Function;
 
@@ -12,7 +11,7 @@ import java.util.function.Function;
  */
 public class TwoPhaseMoveGame<T> extends Game<TwoPhaseMoveState<T>, T> {
 
-    private final TwoPhaseMoveSelector<T> selector;
+    private T from;
 
     /**
      * Creates a {@code TwoPhaseMoveGame} instance to conduct a two-player game
@@ -25,24 +24,23 @@ public class TwoPhaseMoveGame<T> extends Game<TwoPhaseMoveState<T>, T> {
      */
     public TwoPhaseMoveGame(TwoPhaseMoveState<T> state, Function<String, T> parser) {
         super(state, parser);
-        this.selector = new TwoPhaseMoveSelector<>(state);
     }
 
     protected void makeMoveIfPossible(T move) {
-        selector.select(move);
-        if (selector.isReadyToMove()) {
-            selector.makeMove();
+        if (from == null) {
+            if (state.isLegalToMoveFrom(move)) {
+                from = move;
+            }
+        } else if (state.isLegalMove(from, move)) {
+            state.makeMove(from, move);
+            from = null;
             console.printf("%s%n", state);
         }
     }
 
     protected void printPrompt() {
         console.format("%s' move [%s]: ", state.getNextPlayer(),
-                switch (selector.getPhase()) {
-                    case SELECT_FROM -> "from";
-                    case SELECT_TO -> "to";
-                    case READY_TO_MOVE -> throw new AssertionError();
-                });
+                from == null ? "from" : "to");
     }
 
 }
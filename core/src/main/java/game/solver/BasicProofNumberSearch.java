@@ -0,0 +1,57 @@
+package game.solver;
+
+import game.BasicState;
+import util.MoveSink;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Implements the depth-first proof-number search (df-pn) algorithm to solve
+ * positions of games whose moves are described by a single object. The states
+ * must support move generation, i.e., they must override the
+ * {@link BasicState#generateMoves(MoveSink)} method.
+ *
+ * @param <S> represents the states of the game
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class BasicProofNumberSearch<S extends BasicState<T>, T> extends ProofNumberSearch<S, T> {
+
+    /**
+     * Creates a {@code BasicProofNumberSearch} instance whose number of node
+     * expansions is not limited.
+     *
+     * @param copier a function that creates a copy of a state
+     * @param maxEntries the maximum number of entries in the transposition
+     *                   table
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive
+     */
+    public BasicProofNumberSearch(UnaryOperator<S> copier, int maxEntries) {
+        super(copier, maxEntries);
+    }
+
+    /**
+     * Creates a {@code BasicProofNumberSearch} instance.
+     *
+     * @param copier a function that creates a copy of a state
+     * @param maxEntries the maximum number of entries in the transposition
+     *                   table
+     * @param maxExpansions the maximum number of node expansions performed by
+     *                      the {@link #solve(game.State)} method
+     * @throws IllegalArgumentException if {@code maxEntries} or
+     * {@code maxExpansions} is not positive
+     */
+    public BasicProofNumberSearch(UnaryOperator<S> copier, int maxEntries, long maxExpansions) {
+        super(copier, maxEntries, maxExpansions);
+    }
+
+    @Override
+    protected void generateMoves(S state, MoveSink<? super T> sink) {
+        state.generateMoves(sink);
+    }
+
+    @Override
+    protected void makeMove(S state, T move) {
+        state.makeMove(move);
+    }
+
+}
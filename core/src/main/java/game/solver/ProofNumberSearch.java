@@ -0,0 +1,324 @@
+package game.solver;
+
+import game.State;
+import game.State.Player;
+import game.State.Status;
+import util.Canonicalizable;
+import util.MoveList;
+import util.MoveSink;
+
+import java.io.Serial;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Implements the depth-first proof-number search (df-pn) algorithm to solve
+ * positions of two-player games exactly, i.e., to prove whether a player can
+ * force a win. Unlike a full-width search, proof-number search expands the
+ * most-proving node first, i.e., the node whose outcome is the easiest to
+ * establish, thus, it needs far fewer node expansions on deep, narrow game
+ * trees.
+ *
+ * <p>The proof and disproof numbers of the positions visited are kept in a
+ * transposition table whose size is bounded. Once the table is full, the
+ * least recently used entries are evicted, thus, the memory used by the search
+ * is limited, at the expense of repeating some of the work. The proof and
+ * disproof numbers of the children of the nodes on the current search path
+ * are also kept outside of the table, thus, evictions never discard the
+ * information needed to continue the search. If the states implement the
+ * {@link Canonicalizable} interface, symmetric states share a single entry.
+ * The number of node expansions can also be limited, in which case a position
+ * may remain unsolved.
+ *
+ * <p>Since the states of games cannot be copied in general, a function
+ * creating a copy of a state must be provided. The state passed to the
+ * {@link #solve(State)} method is never modified.
+ *
+ * <p>A position repeating on the current search path is treated as a draw.
+ * This is exact for games without repetitions, however, the results may be
+ * inexact for games where the outcome depends on the history of the positions.
+ *
+ * @param <S> represents the states of the game
+ * @param <M> represents the moves that can be applied to the states
+ */
+public abstract class ProofNumberSearch<S extends State, M> {
+
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private final UnaryOperator<S> copier;
+    private final int maxEntries;
+    private final long maxExpansions;
+
+    private Map<Object, Entry> table;
+    private final Set<Object> path = new HashSet<>();
+    private Player attacker;
+    private long expandedNodes;
+
+    /**
+     * Creates a {@code ProofNumberSearch} instance whose number of node
+     * expansions is not limited.
+     *
+     * @param copier a function that creates a copy of a state
+     * @param maxEntries the maximum number of entries in the transposition
+     *                   table
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive
+     */
+    protected ProofNumberSearch(UnaryOperator<S> copier, int maxEntries) {
+        this(copier, maxEntries, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a {@code ProofNumberSearch} instance.
+     *
+     * @param copier a function that creates a copy of a state
+     * @param maxEntries the maximum number of entries in the transposition
+     *                   table
+     * @param maxExpansions the maximum number of node expansions performed by
+     *                      the {@link #solve(State)} method
+     * @throws IllegalArgumentException if {@code maxEntries} or
+     * {@code maxExpansions} is not positive
+     */
+    protected ProofNumberSearch(UnaryOperator<S> copier, int maxEntries, long maxExpansions) {
+        if (maxEntries <= 0 || maxExpansions <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.copier = Objects.requireNonNull(copier);
+        this.maxEntries = maxEntries;
+        this.maxExpansions = maxExpansions;
+    }
+
+    /**
+     * Passes all moves that can be applied to the state to the sink provided.
+     *
+     * @param state the state whose moves are generated
+     * @param sink the sink to receive the moves
+     */
+    protected abstract void generateMoves(S state, MoveSink<? super M> sink);
+
+    /**
+     * Applies the move provided to the state.
+     *
+     * @param state the state to which the move is applied
+     * @param move the move to be made
+     */
+    protected abstract void makeMove(S state, M move);
+
+    /**
+     * Solves the position provided. First, it attempts to prove that the
+     * player who moves next can force a win, then, if it is disproved, that
+     * the opponent can force a win. If both of them are disproved, the
+     * position is a draw.
+     *
+     * @param state the position to be solved
+     * @return {@link Status#PLAYER_1_WINS} or {@link Status#PLAYER_2_WINS} if
+     * the respective player can force a win, {@link Status#DRAW} if neither of
+     * the players can force a win, or {@link Status#IN_PROGRESS} if the
+     * position could not be solved within the maximum number of node
+     * expansions
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    public Status solve(S state) {
+        expandedNodes = 0;
+        if (state.isGameOver()) {
+            return state.getStatus();
+        }
+        var player = state.getNextPlayer();
+        var first = prove(state, player);
+        if (first == Result.PROVEN) {
+            return winFor(player);
+        }
+        var second = prove(state, player.opponent());
+        if (second == Result.PROVEN) {
+            return winFor(player.opponent());
+        }
+        if (first == Result.DISPROVEN && second == Result.DISPROVEN) {
+            return Status.DRAW;
+        }
+        return Status.IN_PROGRESS;
+    }
+
+    /**
+     * {@return the number of nodes expanded by the last call of the
+     * {@link #solve(State)} method}
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    private Result prove(S state, Player player) {
+        attacker = player;
+        table = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        path.clear();
+        try {
+            var root = search(state, keyOf(state), INFINITY, INFINITY);
+            return root.proof == 0 ? Result.PROVEN : Result.DISPROVEN;
+        } catch (ExpansionLimitException e) {
+            return Result.UNKNOWN;
+        } finally {
+            table = null;
+        }
+    }
+
+    /**
+     * Searches the subtree of the node until either its proof number or its
+     * disproof number reaches the respective threshold.
+     */
+    private Entry search(S state, Object key, int proofThreshold, int disproofThreshold) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+        if (expandedNodes == maxExpansions) {
+            throw new ExpansionLimitException();
+        }
+        expandedNodes++;
+        var moves = new MoveList<M>();
+        generateMoves(state, moves);
+        var size = moves.size();
+        @SuppressWarnings("unchecked")
+        var children = (S[]) new State[size];
+        var keys = new Object[size];
+        var values = new Entry[size];
+        var repeated = new boolean[size];
+        for (var i = 0; i < size; i++) {
+            children[i] = copier.apply(state);
+            makeMove(children[i], moves.get(i));
+            keys[i] = keyOf(children[i]);
+            repeated[i] = path.contains(keys[i]);
+            values[i] = repeated[i] ? evaluate(false) : lookUp(children[i], keys[i]);
+        }
+        var or = state.getNextPlayer() == attacker;
+        var entry = new Entry();
+        path.add(key);
+        try {
+            while (true) {
+                var best = -1;
+                var bestValue = INFINITY;
+                var secondValue = INFINITY;
+                var sum = 0L;
+                var infinite = false;
+                var bestOther = 0;
+                for (var i = 0; i < size; i++) {
+                    if (!repeated[i]) {
+                        var cached = table.get(keys[i]);
+                        if (cached != null) {
+                            values[i] = cached;
+                        }
+                    }
+                    var value = or ? values[i].proof : values[i].disproof;
+                    var other = or ? values[i].disproof : values[i].proof;
+                    if (best < 0 || value < bestValue) {
+                        secondValue = bestValue;
+                        best = i;
+                        bestValue = value;
+                        bestOther = other;
+                    } else if (value < secondValue) {
+                        secondValue = value;
+                    }
+                    if (other == INFINITY) {
+                        infinite = true;
+                    } else {
+                        // A large finite sum must not become a false proof or
+                        // disproof
+                        sum = Math.min(sum + other, INFINITY - 1);
+                    }
+                }
+                var min = best < 0 ? INFINITY : bestValue;
+                var total = infinite ? INFINITY : (int) sum;
+                entry.proof = or ? min : total;
+                entry.disproof = or ? total : min;
+                if (entry.proof >= proofThreshold || entry.disproof >= disproofThreshold) {
+                    break;
+                }
+                var threshold = or ? proofThreshold : disproofThreshold;
+                var otherThreshold = or ? disproofThreshold : proofThreshold;
+                // The 1 + epsilon trick: letting the threshold of the best child
+                // exceed the value of the second best one by a quarter avoids
+                // switching back and forth between siblings
+                var childThreshold = (int) Math.min(threshold, secondValue + 1L + secondValue / 4);
+                var childOtherThreshold = (int) Math.min((long) otherThreshold - total + bestOther, INFINITY);
+                values[best] = search(children[best], keys[best],
+                        or ? childThreshold : childOtherThreshold,
+                        or ? childOtherThreshold : childThreshold);
+                table.put(keys[best], values[best]);
+            }
+        } finally {
+            path.remove(key);
+        }
+        return entry;
+    }
+
+    /**
+     * {@return the proof and disproof numbers of the child} Terminal positions
+     * are evaluated directly, other positions not found in the transposition
+     * table are initialized to one.
+     */
+    private Entry lookUp(S state, Object key) {
+        var entry = table.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        if (state.isGameOver()) {
+            entry = evaluate(state.isWinner(attacker));
+            table.put(key, entry);
+            return entry;
+        }
+        entry = new Entry();
+        entry.proof = 1;
+        entry.disproof = 1;
+        return entry;
+    }
+
+    private static Entry evaluate(boolean won) {
+        var entry = new Entry();
+        entry.proof = won ? 0 : INFINITY;
+        entry.disproof = won ? INFINITY : 0;
+        return entry;
+    }
+
+    private static Object keyOf(State state) {
+        return state instanceof Canonicalizable<?> canonicalizable
+                ? canonicalizable.getCanonicalForm()
+                : state;
+    }
+
+    private static Status winFor(Player player) {
+        return switch (player) {
+            case PLAYER_1 -> Status.PLAYER_1_WINS;
+            case PLAYER_2 -> Status.PLAYER_2_WINS;
+        };
+    }
+
+    private enum Result {
+        PROVEN,
+        DISPROVEN,
+        UNKNOWN
+    }
+
+    private static class Entry {
+        int proof;
+        int disproof;
+    }
+
+    private static class ExpansionLimitException extends RuntimeException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        ExpansionLimitException() {
+            super(null, null, false, false);
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+package game.solver;
+
+import game.TwoPhaseMoveState;
+import game.TwoPhaseMoveState.TwoPhaseMove;
+import util.MoveSink;
+import util.TwoPhaseMoveSink;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Implements the depth-first proof-number search (df-pn) algorithm to solve
+ * positions of games whose moves are described by two objects, i.e.,
+ * {@code from} and {@code to}. The states must support move generation, i.e.,
+ * they must override the
+ * {@link TwoPhaseMoveState#generateMoves(TwoPhaseMoveSink)} method.
+ *
+ * @param <S> represents the states of the game
+ * @param <T> represents the type of the source and the target of the moves
+ */
+public class TwoPhaseMoveProofNumberSearch<S extends TwoPhaseMoveState<T>, T>
+        extends ProofNumberSearch<S, TwoPhaseMove<T>> {
+
+    /**
+     * Creates a {@code TwoPhaseMoveProofNumberSearch} instance whose number of
+     * node expansions is not limited.
+     *
+     * @param copier a function that creates a copy of a state
+     * @param maxEntries the maximum number of entries in the transposition
+     *                   table
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive
+     */
+    public TwoPhaseMoveProofNumberSearch(UnaryOperator<S> copier, int maxEntries) {
+        super(copier, maxEntries);
+    }
+
+    /**
+     * Creates a {@code TwoPhaseMoveProofNumberSearch} instance.
+     *
+     * @param copier a function that creates a copy of a state
+     * @param maxEntries the maximum number of entries in the transposition
+     *                   table
+     * @param maxExpansions the maximum number of node expansions performed by
+     *                      the {@link #solve(game.State)} method
+     * @throws IllegalArgumentException if {@code maxEntries} or
+     * {@code maxExpansions} is not positive
+     */
+    public TwoPhaseMoveProofNumberSearch(UnaryOperator<S> copier, int maxEntries, long maxExpansions) {
+        super(copier, maxEntries, maxExpansions);
+    }
+
+    @Override
+    protected void generateMoves(S state, MoveSink<? super TwoPhaseMove<T>> sink) {
+        state.generateMoves((from, to) -> sink.accept(new TwoPhaseMove<>(from, to)));
+    }
+
+    @Override
+    protected void makeMove(S state, TwoPhaseMove<T> move) {
+        state.makeMove(move.from(), move.to());
+    }
+
+}
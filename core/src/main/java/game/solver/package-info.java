@@ -0,0 +1,4 @@
+/**
+ * Package for solving two-player games.
+ */
+package game.solver;
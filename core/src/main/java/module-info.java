@@ -0,0 +1,16 @@
+/**
+ * Provides the JavaFX-free core of the utilities, i.e., the state-space
+ * representations of puzzles and two-player games, the solvers, and the
+ * console front end of two-player games.
+ */
+@SuppressWarnings({"requires-automatic", "requires-transitive-automatic"})
+module homework.project.utils.core {
+    requires transitive console;
+
+    exports game;
+    exports game.console;
+    exports game.solver;
+    exports puzzle;
+    exports puzzle.solver;
+    exports util;
+}
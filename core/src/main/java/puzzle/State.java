@@ -1,5 +1,7 @@
 package puzzle;
 
+import util.MoveSink;
+
 import java.util.Set;
 
 /**
@@ -34,6 +36,20 @@ public interface State<T> extends Cloneable {
      */
     Set<T> getLegalMoves();
 
+    /**
+     * Passes all moves that can be applied to the state to the sink provided.
+     * Implementations should override this method to generate the moves
+     * without allocating a collection. The default implementation passes the
+     * elements of the set returned by {@link #getLegalMoves()}.
+     *
+     * @param sink the sink to receive the moves
+     */
+    default void generateMoves(MoveSink<? super T> sink) {
+        for (var move : getLegalMoves()) {
+            sink.accept(move);
+        }
+    }
+
     /**
      * {@return a copy of the state}
      */
@@ -0,0 +1,225 @@
+package puzzle;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Interns the moves of two-phase move type puzzles. Each location, i.e., each
+ * possible source and target of a move, is identified by its index in a fixed
+ * list of locations. The pool hands out a single {@link TwoPhaseMove} instance
+ * for each pair of locations, thus, move generation and legality checks need
+ * not allocate new moves.
+ *
+ * <p>Moves can also be packed into an {@code int} value, that is useful for
+ * solvers storing a large number of moves, e.g., in primitive arrays.
+ *
+ * <p>Consider, for example, a puzzle played on a 3 &times; 3 board whose
+ * positions are represented by a {@code Position} record:
+ * {@snippet :
+ * var positions = new ArrayList<Position>();
+ * for (var row = 0; row < 3; row++) {
+ *     for (var col = 0; col < 3; col++) {
+ *         positions.add(new Position(row, col));
+ *     }
+ * }
+ * var pool = new TwoPhaseMovePool<>(positions, p -> p.row() * 3 + p.col());
+ * var move = pool.get(new Position(0, 0), new Position(1, 2));
+ * }
+ *
+ * @param <T> represents the type of the source and the target of the moves
+ */
+public class TwoPhaseMovePool<T> {
+
+    private final List<T> locations;
+    private final ToIntFunction<? super T> indexer;
+    private final TwoPhaseMove<T>[] moves;
+
+    /**
+     * Creates a {@code TwoPhaseMovePool} for the locations specified. The index
+     * of a location is its position in the list.
+     *
+     * @param locations the list of all the locations that can be the source or
+     *                  the target of a move
+     * @throws IllegalArgumentException if the list contains duplicates, or
+     * if it contains too many locations for a move to be packed into an
+     * {@code int}
+     */
+    public TwoPhaseMovePool(List<T> locations) {
+        this(locations, indexerOf(locations));
+    }
+
+    /**
+     * Creates a {@code TwoPhaseMovePool} for the locations specified that uses
+     * the function provided to compute the index of a location. The function
+     * must return the position of its argument in the list, and it should be
+     * faster than a hash lookup, e.g., {@code row * width + col}.
+     *
+     * @param locations the list of all the locations that can be the source or
+     *                  the target of a move
+     * @param indexer the function that returns the index of a location
+     * @throws IllegalArgumentException if the list contains too many locations
+     * for a move to be packed into an {@code int}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TwoPhaseMovePool(List<T> locations, ToIntFunction<? super T> indexer) {
+        this.locations = List.copyOf(locations);
+        this.indexer = Objects.requireNonNull(indexer);
+        var size = this.locations.size();
+        if ((long) size * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException();
+        }
+        this.moves = new TwoPhaseMove[size * size];
+    }
+
+    /**
+     * Creates a {@code TwoPhaseMovePool} whose locations are the constants of
+     * the enum specified. The index of a constant is its ordinal.
+     *
+     * @param enumClass a {@code Class} object representing an enum
+     * @return a {@code TwoPhaseMovePool} for the constants of the enum
+     * @param <E> an enum whose constants are the sources and the targets of
+     *           the moves
+     */
+    public static <E extends Enum<E>> TwoPhaseMovePool<E> of(Class<E> enumClass) {
+        return new TwoPhaseMovePool<>(Arrays.asList(enumClass.getEnumConstants()), Enum::ordinal);
+    }
+
+    private static <T> ToIntFunction<T> indexerOf(List<T> locations) {
+        var indices = new HashMap<T, Integer>();
+        for (var i = 0; i < locations.size(); i++) {
+            if (indices.put(locations.get(i), i) != null) {
+                throw new IllegalArgumentException();
+            }
+        }
+        return location -> {
+            var index = indices.get(location);
+            if (index == null) {
+                throw new IllegalArgumentException();
+            }
+            return index;
+        };
+    }
+
+    /**
+     * {@return the number of locations}
+     */
+    public int size() {
+        return locations.size();
+    }
+
+    /**
+     * {@return the index of the location specified}
+     *
+     * @param location a location
+     * @throws IllegalArgumentException if the location is not known to the
+     * pool
+     */
+    public int indexOf(T location) {
+        var index = indexer.applyAsInt(location);
+        // A custom indexer may return any value, that must be checked, since
+        // an index out of range would be packed into a different move
+        if (index < 0 || index >= locations.size()) {
+            throw new IllegalArgumentException();
+        }
+        return index;
+    }
+
+    /**
+     * {@return the location with the index specified}
+     *
+     * @param index the index of a location
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public T locationAt(int index) {
+        return locations.get(index);
+    }
+
+    /**
+     * {@return the interned move from the source to the target specified}
+     *
+     * @param from represents where to move from
+     * @param to represents where to move to
+     * @throws IllegalArgumentException if either of the locations is not
+     * known to the pool
+     */
+    public TwoPhaseMove<T> get(T from, T to) {
+        return get(pack(from, to));
+    }
+
+    /**
+     * {@return the interned move packed into the value specified}
+     *
+     * @param packed a move packed with the {@link #pack(Object, Object)}
+     *               method
+     * @throws IndexOutOfBoundsException if the value does not represent a
+     * move
+     */
+    public TwoPhaseMove<T> get(int packed) {
+        Objects.checkIndex(packed, moves.length);
+        var move = moves[packed];
+        if (move == null) {
+            // Concurrent callers may create more than one instance, that is
+            // harmless since moves are compared with equals()
+            move = new TwoPhaseMove<>(from(packed), to(packed));
+            moves[packed] = move;
+        }
+        return move;
+    }
+
+    /**
+     * {@return the interned instance of the move specified}
+     *
+     * @param move a move
+     */
+    public TwoPhaseMove<T> intern(TwoPhaseMove<T> move) {
+        return get(pack(move));
+    }
+
+    /**
+     * {@return the move from the source to the target specified packed into an
+     * {@code int}}
+     *
+     * @param from represents where to move from
+     * @param to represents where to move to
+     * @throws IllegalArgumentException if either of the locations is not
+     * known to the pool
+     */
+    public int pack(T from, T to) {
+        return indexOf(from) * locations.size() + indexOf(to);
+    }
+
+    /**
+     * {@return the move specified packed into an {@code int}}
+     *
+     * @param move a move
+     */
+    public int pack(TwoPhaseMove<T> move) {
+        return pack(move.from(), move.to());
+    }
+
+    /**
+     * {@return the source of the move packed into the value specified}
+     *
+     * @param packed a move packed with the {@link #pack(Object, Object)}
+     *               method
+     */
+    public T from(int packed) {
+        return locations.get(packed / locations.size());
+    }
+
+    /**
+     * {@return the target of the move packed into the value specified}
+     *
+     * @param packed a move packed with the {@link #pack(Object, Object)}
+     *               method
+     */
+    public T to(int packed) {
+        return locations.get(packed % locations.size());
+    }
+
+}
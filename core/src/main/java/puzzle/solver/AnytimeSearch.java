@@ -0,0 +1,148 @@
+package puzzle.solver;
+
+import puzzle.State;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Base class of anytime solvers that find a solution quickly, and then keep
+ * improving it until the time limit expires. When the time limit expires, the
+ * best solution found so far is returned.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public abstract class AnytimeSearch<T> implements Solver<T> {
+
+    protected final Heuristic<T> heuristic;
+    protected final Duration timeLimit;
+
+    private long deadline;
+    private Node<T> incumbent;
+    private double incumbentBound;
+    private int lowerBound;
+    private SolutionListener<T> listener;
+
+    /**
+     * Creates an {@code AnytimeSearch} instance.
+     *
+     * @param heuristic the heuristic function to guide the search
+     * @param timeLimit the wall-clock time after which the search returns the
+     *                  best solution found
+     */
+    protected AnytimeSearch(Heuristic<T> heuristic, Duration timeLimit) {
+        this.heuristic = Objects.requireNonNull(heuristic);
+        this.timeLimit = Objects.requireNonNull(timeLimit);
+    }
+
+    /**
+     * Searches for a solution for the puzzle starting from the state provided
+     * within the time limit, and reports the progress of the search to the
+     * monitor specified.
+     *
+     * @param state the initial state
+     * @param monitor the monitor to be notified of the progress of the search
+     * @return an {@code Optional} describing the best solution found within
+     * the time limit, or an empty {@code Optional} if no solution is found
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    @Override
+    public Optional<Node<T>> solve(State<T> state, SearchMonitor monitor) {
+        return solve(state, monitor, (solution, bound) -> {});
+    }
+
+    /**
+     * Searches for a solution for the puzzle starting from the state provided
+     * within the time limit, and reports the progress of the search and each
+     * improved solution to the monitor and the listener specified,
+     * respectively.
+     *
+     * @param state the initial state
+     * @param monitor the monitor to be notified of the progress of the search
+     * @param listener the listener to be notified of the improved solutions
+     * @return an {@code Optional} describing the best solution found within
+     * the time limit, or an empty {@code Optional} if no solution is found
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    public synchronized Optional<Node<T>> solve(State<T> state, SearchMonitor monitor, SolutionListener<T> listener) {
+        this.deadline = System.nanoTime() + timeLimit.toNanos();
+        this.listener = Objects.requireNonNull(listener);
+        this.incumbent = null;
+        this.incumbentBound = Double.POSITIVE_INFINITY;
+        var start = new Node<>(state);
+        this.lowerBound = state.isSolved() ? 0 : Math.max(1, heuristic.estimate(state));
+        try {
+            search(start, monitor);
+        } finally {
+            this.listener = null;
+        }
+        return Optional.ofNullable(incumbent);
+    }
+
+    /**
+     * Performs the search starting from the node specified. Implementations
+     * must return when {@link #isTimeUp()} returns {@code true}, and they
+     * must report the solutions found with
+     * {@link #improve(Node, double)}.
+     *
+     * @param start the root node of the search
+     * @param monitor the monitor to be notified of the progress of the search
+     */
+    protected abstract void search(Node<T> start, SearchMonitor monitor);
+
+    /**
+     * {@return whether the time limit has expired} It also throws a
+     * {@link CancellationException} if the current thread is interrupted.
+     */
+    protected boolean isTimeUp() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * {@return the length of the best solution found so far, or
+     * {@link Integer#MAX_VALUE} if no solution is found yet}
+     */
+    protected int getIncumbentCost() {
+        return incumbent == null ? Integer.MAX_VALUE : incumbent.getDepth();
+    }
+
+    /**
+     * Records the solution specified if it is shorter than the best one found
+     * so far, and notifies the listener.
+     *
+     * @param solution the node representing the solved state
+     * @param bound the bound on the suboptimality of the solution guaranteed by
+     *              the search algorithm
+     * @return whether the solution is recorded
+     */
+    protected boolean improve(Node<T> solution, double bound) {
+        if (solution.getDepth() >= getIncumbentCost()) {
+            return false;
+        }
+        incumbent = solution;
+        incumbentBound = Math.min(bound, solution.getDepth() == 0 ? 1.0 : (double) solution.getDepth() / lowerBound);
+        listener.solutionFound(solution, incumbentBound);
+        return true;
+    }
+
+    /**
+     * Notifies the listener that the best solution found so far is proven to
+     * be within the bound specified.
+     *
+     * @param bound the bound on the suboptimality of the best solution
+     */
+    protected void tighten(double bound) {
+        if (incumbent != null && bound < incumbentBound) {
+            incumbentBound = bound;
+            listener.solutionFound(incumbent, bound);
+        }
+    }
+
+}
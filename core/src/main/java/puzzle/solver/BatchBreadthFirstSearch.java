@@ -0,0 +1,215 @@
+package puzzle.solver;
+
+import puzzle.State;
+import util.MoveList;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Solves a batch of instances of the same puzzle with the breadth-first search
+ * (BFS) algorithm. The instances are solved in parallel, and the searches
+ * share the distances to the goal learned from the solutions found. Each state
+ * on a shortest solution is recorded together with its distance to the goal
+ * and the next move, thus, a search reaching such a state needs not explore
+ * its subtree, and it can complete the solution from the cache.
+ *
+ * <p>The solutions found are shortest ones, just like those of
+ * {@link BreadthFirstSearch}, but they may differ from them when several
+ * shortest solutions exist.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class BatchBreadthFirstSearch<T> implements Solver<T> {
+
+    /**
+     * Represents the result of solving an instance of the batch.
+     *
+     * @param state the initial state of the instance
+     * @param solution an {@code Optional} describing the shortest solution for
+     *                 the instance, or an empty {@code Optional} if no
+     *                 solution exists
+     * @param <T> represents the moves that can be applied to the states
+     */
+    public record Result<T>(State<T> state, Optional<Node<T>> solution) {}
+
+    private record Distance<T>(T move, int distance) {}
+
+    private final int parallelism;
+    private final ConcurrentHashMap<State<T>, Distance<T>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a {@code BatchBreadthFirstSearch} instance that uses as many
+     * threads as the number of available processors.
+     */
+    public BatchBreadthFirstSearch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a {@code BatchBreadthFirstSearch} instance that uses the number
+     * of threads specified.
+     *
+     * @param parallelism the number of instances solved simultaneously
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public BatchBreadthFirstSearch(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Solves the instances starting from the states specified. The results are
+     * returned in the order the instances are solved. The cache of distances is
+     * kept between calls, thus, subsequent batches of the same puzzle benefit
+     * from the earlier ones. Closing the stream cancels the remaining searches.
+     *
+     * @param states the initial states of the instances
+     * @return a stream of the results in completion order
+     */
+    public Stream<Result<T>> solveAll(Collection<? extends State<T>> states) {
+        var executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            var thread = new Thread(runnable, "batch-bfs");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var completionService = new ExecutorCompletionService<Result<T>>(executor);
+        for (var state : states) {
+            completionService.submit(() -> new Result<>(state, solve(state)));
+        }
+        executor.shutdown();
+        return Stream.generate(() -> {
+                    try {
+                        return completionService.take().get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CancellationException();
+                    } catch (ExecutionException e) {
+                        throw new CompletionException(e.getCause());
+                    }
+                })
+                .limit(states.size())
+                .onClose(executor::shutdownNow);
+    }
+
+    /**
+     * Searches for the shortest solution for the puzzle starting from the state
+     * provided using the distances learned so far.
+     *
+     * @param state the initial state
+     * @return an {@code Optional} describing the shortest solution for the puzzle,
+     * or an empty {@code Optional} if no solution is found
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    @Override
+    public Optional<Node<T>> solve(State<T> state) {
+        return solve(state, SearchMonitor.NONE);
+    }
+
+    /**
+     * Searches for the shortest solution for the puzzle starting from the state
+     * provided using the distances learned so far, and reports the progress of
+     * the search to the monitor specified.
+     *
+     * @param state the initial state
+     * @param monitor the monitor to be notified of the progress of the search
+     * @return an {@code Optional} describing the shortest solution for the puzzle,
+     * or an empty {@code Optional} if no solution is found
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    @Override
+    public Optional<Node<T>> solve(State<T> state, SearchMonitor monitor) {
+        var open = new ArrayDeque<Node<T>>();
+        var seen = new HashSet<>();
+        var moves = new MoveList<T>();
+        var start = new Node<>(state.clone());
+        open.add(start);
+        seen.add(start.getKey());
+        Node<T> best = null;
+        var bestCost = Integer.MAX_VALUE;
+        while (!open.isEmpty()) {
+            var selected = open.pollFirst();
+            if (selected.getDepth() >= bestCost) {
+                // No shorter solution can be found
+                break;
+            }
+            if (selected.getState().isSolved()) {
+                best = selected;
+                break;
+            }
+            var cached = cache.get(selected.getState());
+            if (cached != null) {
+                if (selected.getDepth() + cached.distance() < bestCost) {
+                    best = selected;
+                    bestCost = selected.getDepth() + cached.distance();
+                }
+                continue;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+            monitor.nodeExpanded(selected);
+            moves.clear();
+            selected.getState().generateMoves(moves);
+            for (var i = 0; i < moves.size(); i++) {
+                var nextChild = selected.createChild(moves.get(i));
+                if (seen.add(nextChild.getKey())) {
+                    open.offerLast(nextChild);
+                }
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+        var solution = complete(best);
+        record(solution);
+        return Optional.of(solution);
+    }
+
+    private Node<T> complete(Node<T> node) {
+        while (!node.getState().isSolved()) {
+            node = node.createChild(cache.get(node.getState()).move());
+        }
+        return node;
+    }
+
+    private void record(Node<T> solution) {
+        var length = solution.getDepth();
+        cache.putIfAbsent(solution.getState(), new Distance<>(null, 0));
+        var child = solution;
+        for (var node = solution.getParent(); node.isPresent(); node = node.get().getParent()) {
+            var parent = node.get();
+            cache.putIfAbsent(parent.getState(), new Distance<>(child.getMove().orElseThrow(), length - parent.getDepth()));
+            child = parent;
+        }
+    }
+
+    /**
+     * {@return the number of states whose distance to the goal is known}
+     */
+    public int getCachedStateCount() {
+        return cache.size();
+    }
+
+    /**
+     * Discards the distances learned. It must not be called while a batch is
+     * being solved.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+}
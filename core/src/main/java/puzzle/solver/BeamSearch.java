@@ -0,0 +1,108 @@
+package puzzle.solver;
+
+import util.MoveList;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Implements an anytime variant of the beam search algorithm to solve puzzles.
+ * The search proceeds layer by layer like breadth-first search, but only the
+ * given number of the most promising nodes of each layer, i.e., the ones with
+ * the lowest heuristic estimate, are kept. The search is repeated with a
+ * doubled beam width while time permits. Once a search does not need to
+ * discard any node, the best solution is proven to be optimal.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class BeamSearch<T> extends AnytimeSearch<T> {
+
+    private record Entry<T>(Node<T> node, int h) {}
+
+    private final int width;
+
+    /**
+     * Creates a {@code BeamSearch} instance.
+     *
+     * @param heuristic the heuristic function to guide the search
+     * @param width the initial beam width, i.e., the number of nodes kept in
+     *              each layer
+     * @param timeLimit the wall-clock time after which the search returns the
+     *                  best solution found
+     * @throws IllegalArgumentException if the width is not positive
+     */
+    public BeamSearch(Heuristic<T> heuristic, int width, Duration timeLimit) {
+        super(heuristic, timeLimit);
+        if (width <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.width = width;
+    }
+
+    @Override
+    protected void search(Node<T> start, SearchMonitor monitor) {
+        var beamWidth = width;
+        while (true) {
+            var complete = search(start, beamWidth, monitor);
+            if (isTimeUp()) {
+                return;
+            }
+            if (complete) {
+                tighten(1);
+                return;
+            }
+            beamWidth = beamWidth > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : beamWidth * 2;
+        }
+    }
+
+    /**
+     * Performs a single beam search.
+     *
+     * @return whether the search did not discard any node, i.e., the incumbent
+     * is proven to be optimal
+     */
+    private boolean search(Node<T> start, int beamWidth, SearchMonitor monitor) {
+        var seen = new HashSet<>();
+        var moves = new MoveList<T>();
+        var complete = true;
+        List<Entry<T>> layer = List.of(new Entry<>(start, heuristic.estimate(start.getState())));
+        seen.add(start.getKey());
+        while (!layer.isEmpty()) {
+            var next = new ArrayList<Entry<T>>();
+            for (var entry : layer) {
+                if (isTimeUp()) {
+                    return false;
+                }
+                var selected = entry.node();
+                if (selected.getDepth() + entry.h() >= getIncumbentCost()) {
+                    continue;
+                }
+                if (selected.getState().isSolved()) {
+                    // Nodes of the same layer cannot yield a shorter solution
+                    improve(selected, Double.POSITIVE_INFINITY);
+                    return complete;
+                }
+                monitor.nodeExpanded(selected);
+                moves.clear();
+                selected.getState().generateMoves(moves);
+                for (var i = 0; i < moves.size(); i++) {
+                    var child = selected.createChild(moves.get(i));
+                    if (seen.add(child.getKey())) {
+                        next.add(new Entry<>(child, heuristic.estimate(child.getState())));
+                    }
+                }
+            }
+            if (next.size() > beamWidth) {
+                next.sort(Comparator.comparingInt(Entry::h));
+                next.subList(beamWidth, next.size()).clear();
+                complete = false;
+            }
+            layer = next;
+        }
+        return complete;
+    }
+
+}
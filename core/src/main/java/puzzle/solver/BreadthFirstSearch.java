@@ -1,18 +1,22 @@
 package puzzle.solver;
 
 import puzzle.State;
+import util.Canonicalizable;
+import util.MoveList;
 
-import java.util.Deque;
+import java.util.ArrayDeque;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 
 /**
- * Implements the breadth-first search (BFS) algorithm to solve puzzles.
+ * Implements the breadth-first search (BFS) algorithm to solve puzzles. If the
+ * states implement the {@link Canonicalizable} interface, symmetric states are
+ * visited only once.
  *
  * @param <T> represents the moves that can be applied to the states
  */
-public class BreadthFirstSearch<T> {
+public class BreadthFirstSearch<T> implements Solver<T> {
 
     /**
      * Searches for the shortest solution for the puzzle starting from the state
@@ -22,22 +26,46 @@ public class BreadthFirstSearch<T> {
      * @return an {@code Optional} describing the shortest solution for the puzzle,
      * or an empty {@code Optional} if no solution is found
      */
+    @Override
     public Optional<Node<T>> solve(State<T> state) {
-        Deque<Node<T>> open = new LinkedList<>();
-        var seen = new HashSet<Node<T>>();
+        return solve(state, SearchMonitor.NONE);
+    }
+
+    /**
+     * Searches for the shortest solution for the puzzle starting from the state
+     * provided, and reports the progress of the search to the monitor
+     * specified.
+     *
+     * @param state the initial state
+     * @param monitor the monitor to be notified of the progress of the search
+     * @return an {@code Optional} describing the shortest solution for the puzzle,
+     * or an empty {@code Optional} if no solution is found
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    @Override
+    public Optional<Node<T>> solve(State<T> state, SearchMonitor monitor) {
+        var open = new ArrayDeque<Node<T>>();
+        var seen = new HashSet<>();
+        var moves = new MoveList<T>();
         var start = new Node<>(state);
         open.add(start);
-        seen.add(start);
+        seen.add(start.getKey());
         while (!open.isEmpty()) {
             var selected = open.pollFirst();
             if (selected.getState().isSolved()) {
                 return Optional.of(selected);
             }
-            while (selected.hasNextChild()) {
-                var nextChild = selected.nextChild().orElseThrow();
-                if (!seen.contains(nextChild)) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+            monitor.nodeExpanded(selected);
+            moves.clear();
+            selected.getState().generateMoves(moves);
+            for (var i = 0; i < moves.size(); i++) {
+                var nextChild = selected.createChild(moves.get(i));
+                if (seen.add(nextChild.getKey())) {
                     open.offerLast(nextChild);
-                    seen.add(nextChild);
                 }
             }
         }
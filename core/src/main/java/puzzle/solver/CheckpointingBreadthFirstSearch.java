@@ -0,0 +1,418 @@
+package puzzle.solver;
+
+import puzzle.State;
+import util.MoveList;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Implements the breadth-first search (BFS) algorithm to solve puzzles, and
+ * saves its progress to a checkpoint file, thus, a long-running search can be
+ * resumed after the JVM is terminated. The result of a resumed search is the
+ * same as the result of an uninterrupted one.
+ *
+ * <p>Checkpoints are taken at layer boundaries, i.e., when all the nodes of a
+ * given depth have been generated, if at least the interval specified has
+ * elapsed since the last checkpoint. Since the nodes are only ever appended to
+ * the search graph, each checkpoint appends to the file only the nodes
+ * generated since the previous one, together with the statistics of the
+ * search. Each node is stored as the index of its parent, the move that
+ * created it, and its state encoded by a {@link StateCodec}. The nodes are
+ * encoded and written by a background thread, thus, the search is stalled
+ * only if the previous checkpoint has not been written yet. If a checkpoint
+ * cannot be written, its nodes are written again with the next one.
+ * Checkpoints that are only partially written, e.g., due to a crash, are
+ * discarded when the search is resumed.
+ *
+ * <p>The file is kept after the search completes, it should be deleted by the
+ * caller if no longer needed.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class CheckpointingBreadthFirstSearch<T> implements Solver<T> {
+
+    private static final Logger logger = System.getLogger(CheckpointingBreadthFirstSearch.class.getName());
+
+    private static final int MAGIC = 0x42465343; // "BFSC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private final StateCodec<T> codec;
+    private final Path file;
+    private final Duration interval;
+
+    private List<Node<T>> nodes;
+    private int[] parents;
+    private HashSet<Object> seen;
+    private int head;
+    private int depth;
+    private long expandedNodes;
+    private int written;
+    private long lastCheckpoint;
+    private FileChannel channel;
+    private ExecutorService writer;
+    private Future<Integer> pendingWrite;
+
+    /**
+     * Creates a {@code CheckpointingBreadthFirstSearch} instance.
+     *
+     * @param codec the codec to convert the states and the moves to and from
+     *              a binary representation
+     * @param file the path of the checkpoint file
+     * @param interval the minimum time elapsed between two checkpoints, or
+     *                 {@link Duration#ZERO} to take a checkpoint at each layer
+     *                 boundary
+     */
+    public CheckpointingBreadthFirstSearch(StateCodec<T> codec, Path file, Duration interval) {
+        this.codec = Objects.requireNonNull(codec);
+        this.file = Objects.requireNonNull(file);
+        this.interval = Objects.requireNonNull(interval);
+    }
+
+    /**
+     * Searches for the shortest solution for the puzzle starting from the state
+     * provided, and reports the progress of the search to the monitor
+     * specified. The checkpoint file is overwritten if it exists.
+     *
+     * @param state the initial state
+     * @param monitor the monitor to be notified of the progress of the search
+     * @return an {@code Optional} describing the shortest solution for the puzzle,
+     * or an empty {@code Optional} if no solution is found
+     * @throws UncheckedIOException if the checkpoint file cannot be created
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    @Override
+    public synchronized Optional<Node<T>> solve(State<T> state, SearchMonitor monitor) {
+        nodes = new ArrayList<>();
+        parents = new int[1024];
+        seen = new HashSet<>();
+        head = 0;
+        depth = 0;
+        expandedNodes = 0;
+        written = 0;
+        var start = new Node<>(state);
+        seen.add(start.getKey());
+        add(start, -1);
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(header);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run(monitor);
+    }
+
+    /**
+     * Resumes the search from the last checkpoint saved to the checkpoint
+     * file.
+     *
+     * @return an {@code Optional} describing the shortest solution for the puzzle,
+     * or an empty {@code Optional} if no solution is found
+     * @throws UncheckedIOException if the checkpoint file cannot be read
+     * @throws IllegalStateException if the file does not contain a checkpoint
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    public Optional<Node<T>> resume() {
+        return resume(SearchMonitor.NONE);
+    }
+
+    /**
+     * Resumes the search from the last checkpoint saved to the checkpoint
+     * file, and reports the progress of the search to the monitor specified.
+     *
+     * @param monitor the monitor to be notified of the progress of the search
+     * @return an {@code Optional} describing the shortest solution for the puzzle,
+     * or an empty {@code Optional} if no solution is found
+     * @throws UncheckedIOException if the checkpoint file cannot be read
+     * @throws IllegalStateException if the file does not contain a checkpoint
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    public synchronized Optional<Node<T>> resume(SearchMonitor monitor) {
+        nodes = new ArrayList<>();
+        parents = new int[1024];
+        seen = new HashSet<>();
+        long offset;
+        try {
+            offset = load();
+            channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            // Partially written checkpoints are discarded
+            channel.truncate(offset);
+            channel.position(offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        head = 0;
+        while (nodes.get(head).getDepth() < depth) {
+            head++;
+        }
+        written = nodes.size();
+        logger.log(Logger.Level.INFO, "Resumed search at depth {0} with {1} nodes", depth, nodes.size());
+        return run(monitor);
+    }
+
+    /**
+     * {@return the number of nodes expanded by the last search, including the
+     * ones expanded before it was resumed}
+     */
+    public synchronized long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    private Optional<Node<T>> run(SearchMonitor monitor) {
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "bfs-checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastCheckpoint = System.nanoTime();
+        try {
+            if (written == 0) {
+                checkpoint();
+            }
+            return search(monitor);
+        } finally {
+            close();
+        }
+    }
+
+    private Optional<Node<T>> search(SearchMonitor monitor) {
+        var moves = new MoveList<T>();
+        while (head < nodes.size()) {
+            var selected = nodes.get(head);
+            if (selected.getDepth() > depth) {
+                // All the nodes of the new layer have been generated
+                depth = selected.getDepth();
+                if (System.nanoTime() - lastCheckpoint >= interval.toNanos()) {
+                    checkpoint();
+                }
+            }
+            if (selected.getState().isSolved()) {
+                return Optional.of(selected);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+            monitor.nodeExpanded(selected);
+            expandedNodes++;
+            moves.clear();
+            selected.getState().generateMoves(moves);
+            for (var i = 0; i < moves.size(); i++) {
+                var nextChild = selected.createChild(moves.get(i));
+                if (seen.add(nextChild.getKey())) {
+                    add(nextChild, head);
+                }
+            }
+            head++;
+        }
+        return Optional.empty();
+    }
+
+    private void add(Node<T> node, int parent) {
+        if (nodes.size() == parents.length) {
+            parents = Arrays.copyOf(parents, parents.length * 2);
+        }
+        parents[nodes.size()] = parent;
+        nodes.add(node);
+    }
+
+    private void checkpoint() {
+        awaitPendingWrite();
+        var first = written;
+        var batch = List.copyOf(nodes.subList(first, nodes.size()));
+        var batchParents = Arrays.copyOfRange(parents, first, nodes.size());
+        var frontierDepth = depth;
+        var expanded = expandedNodes;
+        lastCheckpoint = System.nanoTime();
+        // The nodes count as written only once the write succeeded, see
+        // awaitPendingWrite(), thus, a failed batch is retried next time
+        pendingWrite = writer.submit(() -> {
+            write(first, batch, batchParents, frontierDepth, expanded);
+            return first + batch.size();
+        });
+    }
+
+    private void write(int first, List<Node<T>> batch, int[] batchParents, int frontierDepth, long expanded)
+            throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeInt(frontierDepth);
+        out.writeLong(expanded);
+        out.writeInt(first);
+        out.writeInt(batch.size());
+        for (var i = 0; i < batch.size(); i++) {
+            var node = batch.get(i);
+            out.writeInt(batchParents[i]);
+            if (batchParents[i] >= 0) {
+                codec.writeMove(node.getMove().orElseThrow(), out);
+            }
+            codec.writeState(node.getState(), out);
+        }
+        out.flush();
+        var payload = bytes.toByteArray();
+        var crc = new CRC32();
+        crc.update(payload);
+        var buffer = ByteBuffer.allocate(12 + payload.length)
+                .putInt(payload.length)
+                .putLong(crc.getValue())
+                .put(payload)
+                .flip();
+        var position = channel.position();
+        try {
+            writeFully(buffer);
+            channel.force(false);
+        } catch (IOException e) {
+            // Discard the partially written checkpoint, so that the next one
+            // is appended to the last complete checkpoint
+            channel.truncate(position);
+            channel.position(position);
+            throw e;
+        }
+        logger.log(Logger.Level.DEBUG, "Checkpoint written at depth {0} with {1} new nodes",
+                frontierDepth, batch.size());
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Loads the checkpoints from the file.
+     *
+     * @return the offset of the end of the last complete checkpoint
+     */
+    private long load() throws IOException {
+        var size = Files.size(file);
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalStateException("Not a checkpoint file: " + file);
+            }
+            long offset = HEADER_SIZE;
+            while (true) {
+                byte[] payload;
+                long checksum;
+                try {
+                    var length = in.readInt();
+                    checksum = in.readLong();
+                    if (length < 0 || offset + 12 + length > size) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                var crc = new CRC32();
+                crc.update(payload);
+                if (crc.getValue() != checksum) {
+                    break;
+                }
+                if (!read(new DataInputStream(new ByteArrayInputStream(payload)))) {
+                    // A checkpoint is missing, the later ones cannot be used
+                    break;
+                }
+                offset += 12 + payload.length;
+            }
+            if (nodes.isEmpty()) {
+                throw new IllegalStateException("No checkpoint found in " + file);
+            }
+            return offset;
+        }
+    }
+
+    /**
+     * Reads a checkpoint.
+     *
+     * @return whether the checkpoint continues the ones read before, otherwise
+     * it is ignored
+     */
+    private boolean read(DataInputStream in) throws IOException {
+        var frontierDepth = in.readInt();
+        var expanded = in.readLong();
+        var first = in.readInt();
+        var count = in.readInt();
+        if (first != nodes.size()) {
+            return false;
+        }
+        depth = frontierDepth;
+        expandedNodes = expanded;
+        for (var i = 0; i < count; i++) {
+            var parent = in.readInt();
+            Node<T> node;
+            if (parent < 0) {
+                node = new Node<>(codec.readState(in));
+            } else {
+                var move = codec.readMove(in);
+                node = new Node<>(codec.readState(in), nodes.get(parent), move);
+            }
+            seen.add(node.getKey());
+            add(node, parent);
+        }
+        return true;
+    }
+
+    private void awaitPendingWrite() {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            written = pendingWrite.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        } catch (ExecutionException e) {
+            logger.log(Logger.Level.WARNING, "Failed to write checkpoint, it is retried with the next one",
+                    e.getCause());
+        } finally {
+            pendingWrite = null;
+        }
+    }
+
+    private void close() {
+        try {
+            awaitPendingWrite();
+        } finally {
+            writer.shutdown();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Logger.Level.WARNING, "Failed to close checkpoint file", e);
+            }
+            channel = null;
+            writer = null;
+        }
+    }
+
+}
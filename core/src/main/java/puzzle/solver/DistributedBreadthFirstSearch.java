@@ -0,0 +1,359 @@
+package puzzle.solver;
+
+import puzzle.State;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements a distributed variant of the breadth-first search (BFS)
+ * algorithm to solve puzzles whose state space does not fit into the memory of
+ * a single JVM. The search is performed by several worker processes running
+ * on the local machine, see {@link DistributedBreadthFirstSearchWorker}.
+ *
+ * <p>Each state is owned by the worker determined by the hash of its binary
+ * representation. The workers expand the frontier layer by layer: each of them
+ * expands the states it owns, and sends the children generated to their
+ * owners in batched, compressed messages. A worker keeps the parent and the
+ * move of each state it owns, thus, the coordinator, i.e., this class, can
+ * rebuild the solution by asking the owners of the states on the path in
+ * turn. The coordinator also synchronises the layers, and collects the
+ * statistics of the workers.
+ *
+ * <p>The states are identified by their binary representation produced by the
+ * {@link StateCodec}, thus, equal states must be encoded identically. The
+ * class of the codec must be public, and it must have a public no-argument
+ * constructor, since it is instantiated by the worker processes. The worker
+ * processes are launched with the class path of the current JVM, and, if this
+ * class is loaded from the module path, with its module path, too. In the
+ * latter case, the package of the codec must be exported to the
+ * {@code homework.project.utils.core} module, unless the codec is on the class
+ * path.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class DistributedBreadthFirstSearch<T> implements Solver<T> {
+
+    static final int EXPAND = 1;
+    static final int PARENT = 2;
+    static final int STOP = 3;
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofMinutes(1);
+
+    /**
+     * Represents the statistics of a worker process.
+     *
+     * @param id the identifier of the worker
+     * @param expandedNodes the number of nodes expanded by the worker
+     * @param visitedStates the number of states owned by the worker
+     * @param bytesSent the number of compressed bytes sent to other workers
+     * @param busyTime the time spent on expanding layers, excluding the time
+     *                 spent waiting for the other workers to finish them
+     */
+    public record WorkerStatistics(int id, long expandedNodes, long visitedStates, long bytesSent,
+                                   Duration busyTime) {
+
+        /**
+         * {@return the number of nodes expanded per second}
+         */
+        public double throughput() {
+            return busyTime.isZero() ? 0 : expandedNodes / (busyTime.toNanos() / 1e9);
+        }
+
+    }
+
+    private final StateCodec<T> codec;
+    private final int workers;
+    private final List<String> jvmOptions;
+    private List<WorkerStatistics> statistics = List.of();
+
+    /**
+     * Creates a {@code DistributedBreadthFirstSearch} instance.
+     *
+     * @param codec the codec to convert the states and the moves to and from
+     *              a binary representation
+     * @param workers the number of worker processes
+     * @throws IllegalArgumentException if the number of workers is not
+     * positive
+     */
+    public DistributedBreadthFirstSearch(StateCodec<T> codec, int workers) {
+        this(codec, workers, List.of());
+    }
+
+    /**
+     * Creates a {@code DistributedBreadthFirstSearch} instance whose worker
+     * processes are launched with the JVM options specified.
+     *
+     * @param codec the codec to convert the states and the moves to and from
+     *              a binary representation
+     * @param workers the number of worker processes
+     * @param jvmOptions the options of the worker JVMs, e.g., {@code -Xmx4g}
+     * @throws IllegalArgumentException if the number of workers is not
+     * positive
+     */
+    public DistributedBreadthFirstSearch(StateCodec<T> codec, int workers, List<String> jvmOptions) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.codec = Objects.requireNonNull(codec);
+        this.workers = workers;
+        this.jvmOptions = List.copyOf(jvmOptions);
+    }
+
+    /**
+     * Searches for the shortest solution for the puzzle starting from the state
+     * provided. The monitor is not notified, since the nodes are expanded by
+     * the worker processes.
+     *
+     * @param state the initial state
+     * @param monitor ignored
+     * @return an {@code Optional} describing the shortest solution for the puzzle,
+     * or an empty {@code Optional} if no solution is found
+     * @throws UncheckedIOException if the communication with the workers fails
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    @Override
+    public synchronized Optional<Node<T>> solve(State<T> state, SearchMonitor monitor) {
+        var processes = new ArrayList<Process>();
+        var connections = new Connection[workers];
+        try (var server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) CONNECT_TIMEOUT.toMillis());
+            for (var id = 0; id < workers; id++) {
+                processes.add(launch(server.getLocalPort(), id));
+            }
+            var ports = new int[workers];
+            for (var i = 0; i < workers; i++) {
+                var connection = new Connection(server.accept());
+                var id = connection.in.readInt();
+                ports[id] = connection.in.readInt();
+                connections[id] = connection;
+            }
+            var start = encodeState(state);
+            for (var connection : connections) {
+                for (var port : ports) {
+                    connection.out.writeInt(port);
+                }
+                writeBytes(connection.out, start);
+                connection.out.flush();
+            }
+            var goal = state.isSolved() ? Optional.of(start) : search(connections);
+            var solution = goal.map(bytes -> rebuild(connections, state, bytes));
+            statistics = collectStatistics(connections);
+            return solution;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (var connection : connections) {
+                if (connection != null) {
+                    connection.close();
+                }
+            }
+            for (var process : processes) {
+                try {
+                    if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                        process.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    process.destroyForcibly();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * {@return the statistics of the workers collected during the last search}
+     */
+    public synchronized List<WorkerStatistics> getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * {@return the load imbalance of the last search, i.e., the ratio of the
+     * maximum and the average number of nodes expanded by the workers} It is
+     * 1 for a perfectly balanced search.
+     */
+    public synchronized double getImbalance() {
+        var max = statistics.stream().mapToLong(WorkerStatistics::expandedNodes).max().orElse(0);
+        var average = statistics.stream().mapToLong(WorkerStatistics::expandedNodes).average().orElse(0);
+        return average == 0 ? 1 : max / average;
+    }
+
+    private Process launch(int port, int id) throws IOException {
+        var command = new ArrayList<String>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        var module = DistributedBreadthFirstSearchWorker.class.getModule();
+        if (module.isNamed()) {
+            command.add("-p");
+            command.add(System.getProperty("jdk.module.path", ""));
+            var codecModule = codec.getClass().getModule();
+            if (codecModule.isNamed() && codecModule != module) {
+                command.add("--add-modules");
+                command.add(codecModule.getName());
+            }
+            command.add("-m");
+            command.add(module.getName() + "/" + DistributedBreadthFirstSearchWorker.class.getName());
+        } else {
+            command.add(DistributedBreadthFirstSearchWorker.class.getName());
+        }
+        command.add(Integer.toString(port));
+        command.add(Integer.toString(id));
+        command.add(Integer.toString(workers));
+        command.add(codec.getClass().getName());
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    /**
+     * Expands the layers until a solution is found or the frontier becomes
+     * empty. Each worker reports either a solved state among the states
+     * generated, or the number of new states it owns.
+     *
+     * @return an {@code Optional} describing the binary representation of the
+     * solved state found
+     */
+    private Optional<byte[]> search(Connection[] connections) throws IOException {
+        for (var depth = 0; ; depth++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+            for (var connection : connections) {
+                connection.out.writeInt(EXPAND);
+                connection.out.flush();
+            }
+            byte[] goal = null;
+            var frontier = 0L;
+            for (var connection : connections) {
+                if (connection.in.readBoolean()) {
+                    var bytes = readBytes(connection.in);
+                    goal = goal == null ? bytes : goal;
+                } else {
+                    frontier += connection.in.readLong();
+                }
+            }
+            if (goal != null) {
+                return Optional.of(goal);
+            }
+            if (frontier == 0) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private Node<T> rebuild(Connection[] connections, State<T> state, byte[] goal) {
+        try {
+            var moves = new LinkedList<T>();
+            var current = goal;
+            while (true) {
+                var connection = connections[ownerOf(current, workers)];
+                connection.out.writeInt(PARENT);
+                writeBytes(connection.out, current);
+                connection.out.flush();
+                if (!connection.in.readBoolean()) {
+                    break;
+                }
+                current = readBytes(connection.in);
+                moves.addFirst(decodeMove(readBytes(connection.in)));
+            }
+            var node = new Node<>(state.clone());
+            for (var move : moves) {
+                node = node.createChild(move);
+            }
+            return node;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<WorkerStatistics> collectStatistics(Connection[] connections) throws IOException {
+        var result = new ArrayList<WorkerStatistics>();
+        for (var id = 0; id < connections.length; id++) {
+            var connection = connections[id];
+            connection.out.writeInt(STOP);
+            connection.out.flush();
+            result.add(new WorkerStatistics(id, connection.in.readLong(), connection.in.readLong(),
+                    connection.in.readLong(), Duration.ofNanos(connection.in.readLong())));
+        }
+        return List.copyOf(result);
+    }
+
+    private byte[] encodeState(State<T> state) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        codec.writeState(state, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private T decodeMove(byte[] bytes) throws IOException {
+        return codec.readMove(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * {@return the identifier of the worker owning the state with the binary
+     * representation specified}
+     */
+    static int ownerOf(byte[] state, int workers) {
+        // The hash is scrambled to spread similar states evenly
+        return Math.floorMod(Arrays.hashCode(state) * 0x9E3779B9, workers);
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        var bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Represents a connection with buffered data streams.
+     */
+    static class Connection {
+
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Ignored
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,319 @@
+package puzzle.solver;
+
+import puzzle.State;
+import puzzle.solver.DistributedBreadthFirstSearch.Connection;
+import util.MoveList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static puzzle.solver.DistributedBreadthFirstSearch.ownerOf;
+import static puzzle.solver.DistributedBreadthFirstSearch.readBytes;
+import static puzzle.solver.DistributedBreadthFirstSearch.writeBytes;
+
+/**
+ * The worker process of {@link DistributedBreadthFirstSearch}. It is launched
+ * by the coordinator, and it is not intended to be used directly.
+ *
+ * <p>The command line arguments are the port of the coordinator, the
+ * identifier of the worker, the number of workers, and the name of the class
+ * of the {@link StateCodec}.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class DistributedBreadthFirstSearchWorker<T> {
+
+    private static final int BATCH_SIZE = 4096;
+    private static final int END_OF_LAYER = -1;
+
+    /**
+     * Represents a state generated together with the state and the move it
+     * was created by. The states and the move are in binary representation.
+     */
+    private record Entry(byte[] state, byte[] parent, byte[] move) {}
+
+    /**
+     * Represents the parent and the move that created a state. Both are
+     * {@code null} for the initial state.
+     */
+    private record Parent(byte[] state, byte[] move) {}
+
+    private final StateCodec<T> codec;
+    private final int id;
+    private final int workers;
+    private final Map<State<T>, Parent> visited = new HashMap<>();
+    private final ConcurrentLinkedQueue<Entry> inbox = new ConcurrentLinkedQueue<>();
+    private final Semaphore endOfLayerMarkers = new Semaphore(0);
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final DataOutputStream bufferOut = new DataOutputStream(buffer);
+    private List<State<T>> frontier = new ArrayList<>();
+    private Connection[] peers;
+    private long expandedNodes;
+    private long bytesSent;
+    private long busyNanos;
+
+    private DistributedBreadthFirstSearchWorker(StateCodec<T> codec, int id, int workers) {
+        this.codec = codec;
+        this.id = id;
+        this.workers = workers;
+    }
+
+    /**
+     * Runs a worker process.
+     *
+     * @param args the port of the coordinator, the identifier of the worker,
+     *             the number of workers, and the name of the class of the
+     *             codec
+     * @throws Exception if the worker fails
+     */
+    public static void main(String[] args) throws Exception {
+        var port = Integer.parseInt(args[0]);
+        var id = Integer.parseInt(args[1]);
+        var workers = Integer.parseInt(args[2]);
+        var codec = (StateCodec<?>) Class.forName(args[3]).getDeclaredConstructor().newInstance();
+        new DistributedBreadthFirstSearchWorker<>(codec, id, workers).run(port);
+    }
+
+    private void run(int port) throws IOException {
+        var loopback = InetAddress.getLoopbackAddress();
+        var coordinator = new Connection(new Socket(loopback, port));
+        try (var server = new ServerSocket(0, workers, loopback)) {
+            coordinator.out.writeInt(id);
+            coordinator.out.writeInt(server.getLocalPort());
+            coordinator.out.flush();
+            var ports = new int[workers];
+            for (var i = 0; i < workers; i++) {
+                ports[i] = coordinator.in.readInt();
+            }
+            connectPeers(server, ports);
+            var start = readBytes(coordinator.in);
+            if (ownerOf(start, workers) == id) {
+                var state = decodeState(start);
+                visited.put(state, new Parent(null, null));
+                frontier.add(state);
+            }
+            serve(coordinator);
+        } catch (EOFException e) {
+            // The coordinator has terminated
+        } finally {
+            coordinator.close();
+            if (peers != null) {
+                for (var peer : peers) {
+                    if (peer != null) {
+                        peer.close();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Connects to each other worker. A worker connects to the ones with a lower
+     * identifier, and it accepts connections from the ones with a higher
+     * identifier.
+     */
+    private void connectPeers(ServerSocket server, int[] ports) throws IOException {
+        peers = new Connection[workers];
+        var loopback = InetAddress.getLoopbackAddress();
+        for (var other = 0; other < id; other++) {
+            var peer = new Connection(new Socket(loopback, ports[other]));
+            peer.out.writeInt(id);
+            peer.out.flush();
+            peers[other] = peer;
+        }
+        for (var i = id + 1; i < workers; i++) {
+            var peer = new Connection(server.accept());
+            peers[peer.in.readInt()] = peer;
+        }
+        for (var other = 0; other < workers; other++) {
+            if (other != id) {
+                var peer = peers[other];
+                var reader = new Thread(() -> receive(peer), "bfs-worker-" + id + "-reader-" + other);
+                reader.setDaemon(true);
+                reader.start();
+            }
+        }
+    }
+
+    private void serve(Connection coordinator) throws IOException {
+        while (true) {
+            switch (coordinator.in.readInt()) {
+                case DistributedBreadthFirstSearch.EXPAND -> expand(coordinator);
+                case DistributedBreadthFirstSearch.PARENT -> {
+                    var parent = visited.get(decodeState(readBytes(coordinator.in)));
+                    if (parent == null || parent.state() == null) {
+                        coordinator.out.writeBoolean(false);
+                    } else {
+                        coordinator.out.writeBoolean(true);
+                        writeBytes(coordinator.out, parent.state());
+                        writeBytes(coordinator.out, parent.move());
+                    }
+                    coordinator.out.flush();
+                }
+                case DistributedBreadthFirstSearch.STOP -> {
+                    coordinator.out.writeLong(expandedNodes);
+                    coordinator.out.writeLong(visited.size());
+                    coordinator.out.writeLong(bytesSent);
+                    coordinator.out.writeLong(busyNanos);
+                    coordinator.out.flush();
+                    return;
+                }
+                default -> throw new IOException("Unknown command");
+            }
+        }
+    }
+
+    private void expand(Connection coordinator) throws IOException {
+        var startTime = System.nanoTime();
+        var local = new ArrayList<Entry>();
+        var outboxes = new ArrayList<List<Entry>>();
+        for (var i = 0; i < workers; i++) {
+            outboxes.add(new ArrayList<>());
+        }
+        var moves = new MoveList<T>();
+        for (var state : frontier) {
+            var parent = encodeState(state);
+            moves.clear();
+            state.generateMoves(moves);
+            for (var i = 0; i < moves.size(); i++) {
+                var move = moves.get(i);
+                var child = state.clone();
+                child.makeMove(move);
+                var entry = new Entry(encodeState(child), parent, encodeMove(move));
+                var owner = ownerOf(entry.state(), workers);
+                if (owner == id) {
+                    local.add(entry);
+                } else {
+                    var outbox = outboxes.get(owner);
+                    outbox.add(entry);
+                    if (outbox.size() == BATCH_SIZE) {
+                        send(peers[owner], outbox);
+                        outbox.clear();
+                    }
+                }
+            }
+            expandedNodes++;
+        }
+        for (var other = 0; other < workers; other++) {
+            if (other != id) {
+                send(peers[other], outboxes.get(other));
+                peers[other].out.writeInt(END_OF_LAYER);
+                peers[other].out.flush();
+            }
+        }
+        busyNanos += System.nanoTime() - startTime;
+        endOfLayerMarkers.acquireUninterruptibly(workers - 1);
+        startTime = System.nanoTime();
+        var next = new ArrayList<State<T>>();
+        accept(local, next);
+        var received = new ArrayList<Entry>();
+        for (var entry = inbox.poll(); entry != null; entry = inbox.poll()) {
+            received.add(entry);
+        }
+        accept(received, next);
+        frontier = next;
+        busyNanos += System.nanoTime() - startTime;
+        for (var state : frontier) {
+            if (state.isSolved()) {
+                coordinator.out.writeBoolean(true);
+                writeBytes(coordinator.out, encodeState(state));
+                coordinator.out.flush();
+                return;
+            }
+        }
+        coordinator.out.writeBoolean(false);
+        coordinator.out.writeLong(frontier.size());
+        coordinator.out.flush();
+    }
+
+    private void accept(List<Entry> entries, List<State<T>> next) throws IOException {
+        for (var entry : entries) {
+            var state = decodeState(entry.state());
+            if (!visited.containsKey(state)) {
+                visited.put(state, new Parent(entry.parent(), entry.move()));
+                next.add(state);
+            }
+        }
+    }
+
+    private void send(Connection peer, List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        var bytes = new ByteArrayOutputStream();
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        try (var out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeInt(entries.size());
+            for (var entry : entries) {
+                writeBytes(out, entry.state());
+                writeBytes(out, entry.parent());
+                writeBytes(out, entry.move());
+            }
+        } finally {
+            deflater.end();
+        }
+        writeBytes(peer.out, bytes.toByteArray());
+        bytesSent += bytes.size();
+    }
+
+    /**
+     * Receives the batches sent by a peer. It runs on a dedicated thread, thus,
+     * the peers never block each other while sending.
+     */
+    private void receive(Connection peer) {
+        try {
+            while (true) {
+                var length = peer.in.readInt();
+                if (length == END_OF_LAYER) {
+                    endOfLayerMarkers.release();
+                    continue;
+                }
+                var compressed = new byte[length];
+                peer.in.readFully(compressed);
+                try (var in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+                    var count = in.readInt();
+                    for (var i = 0; i < count; i++) {
+                        inbox.add(new Entry(readBytes(in), readBytes(in), readBytes(in)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // The peer has terminated
+        }
+    }
+
+    private byte[] encodeState(State<T> state) throws IOException {
+        buffer.reset();
+        codec.writeState(state, bufferOut);
+        bufferOut.flush();
+        return buffer.toByteArray();
+    }
+
+    private byte[] encodeMove(T move) throws IOException {
+        buffer.reset();
+        codec.writeMove(move, bufferOut);
+        bufferOut.flush();
+        return buffer.toByteArray();
+    }
+
+    private State<T> decodeState(byte[] bytes) throws IOException {
+        return codec.readState(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+}
@@ -0,0 +1,24 @@
+package puzzle.solver;
+
+import puzzle.State;
+
+/**
+ * Represents a function that estimates the number of moves needed to solve a
+ * puzzle from a state. The estimate should be admissible, i.e., it should
+ * never exceed the actual number of moves needed. Otherwise, the bounds on the
+ * suboptimality of the solutions reported by the solvers are not valid.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+@FunctionalInterface
+public interface Heuristic<T> {
+
+    /**
+     * {@return the estimated number of moves needed to solve the puzzle from
+     * the state specified}
+     *
+     * @param state a state of the puzzle
+     */
+    int estimate(State<T> state);
+
+}
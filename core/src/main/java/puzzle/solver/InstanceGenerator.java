@@ -0,0 +1,209 @@
+package puzzle.solver;
+
+import puzzle.State;
+import util.Canonicalizable;
+import util.MoveList;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates instances of a puzzle whose shortest solutions have an exact
+ * length. A single layered breadth-first search is run from the goal states,
+ * and a fixed number of states are sampled uniformly at random from each layer,
+ * i.e., from the states at each distance from the goal, with reservoir
+ * sampling. Thus, instances of all the difficulty levels are produced in one
+ * pass, without solving any of them.
+ *
+ * <p>Since the states of puzzles do not enumerate the states preceding them,
+ * the moves of the puzzle must be reversible, i.e., if a state can be reached
+ * from another one with a move, then there must be a move leading back. The
+ * search then applies the moves of the puzzle starting from the goal states,
+ * and the distances found are the lengths of the shortest solutions. Due to
+ * the reversibility, the search needs to keep only three consecutive layers,
+ * instead of all the states visited. If the states implement the
+ * {@link Canonicalizable} interface, symmetric states are counted only once.
+ *
+ * <p>Note that the reservoir bounds only the number of instances produced,
+ * not the memory used by the search. The three layers are kept in full in
+ * order to detect the states already visited, so the memory required is
+ * proportional to the largest total size of three consecutive layers up to
+ * the maximum distance. Hence, {@code maxDistance} should be chosen so that
+ * these layers fit in memory.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class InstanceGenerator<T> {
+
+    /**
+     * Represents an instance of the puzzle generated.
+     *
+     * @param state the initial state of the instance
+     * @param distance the length of the shortest solution for the instance
+     * @param <T> represents the moves that can be applied to the states
+     */
+    public record Instance<T>(State<T> state, int distance) {}
+
+    private final int samplesPerLayer;
+    private final RandomGenerator random;
+
+    /**
+     * Creates an {@code InstanceGenerator} instance that uses the default
+     * random number generator.
+     *
+     * @param samplesPerLayer the number of instances to be generated for each
+     *                        distance
+     * @throws IllegalArgumentException if {@code samplesPerLayer} is not
+     * positive
+     */
+    public InstanceGenerator(int samplesPerLayer) {
+        this(samplesPerLayer, RandomGenerator.getDefault());
+    }
+
+    /**
+     * Creates an {@code InstanceGenerator} instance that uses the random
+     * number generator specified, e.g., a seeded one to make the instances
+     * reproducible.
+     *
+     * @param samplesPerLayer the number of instances to be generated for each
+     *                        distance
+     * @param random the random number generator used for sampling
+     * @throws IllegalArgumentException if {@code samplesPerLayer} is not
+     * positive
+     */
+    public InstanceGenerator(int samplesPerLayer, RandomGenerator random) {
+        if (samplesPerLayer <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.samplesPerLayer = samplesPerLayer;
+        this.random = Objects.requireNonNull(random);
+    }
+
+    /**
+     * Generates instances at each distance from the goal states up to the
+     * maximum distance specified, and passes them to the consumer provided.
+     * The instances of a distance are passed as soon as the corresponding
+     * layer of the search is complete, in increasing order of the distance. If
+     * a layer contains fewer states than the number of samples, all of them
+     * are passed.
+     *
+     * @param goals the goal states of the puzzle
+     * @param maxDistance the maximum distance of the instances
+     * @param consumer the consumer to receive the instances
+     * @throws IllegalArgumentException if {@code maxDistance} is negative
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    public void generate(Collection<? extends State<T>> goals, int maxDistance,
+                         Consumer<? super Instance<T>> consumer) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException();
+        }
+        var previous = new LinkedHashMap<Object, State<T>>();
+        var current = new LinkedHashMap<Object, State<T>>();
+        var reservoir = new ArrayList<State<T>>(samplesPerLayer);
+        for (var goal : goals) {
+            var state = goal.clone();
+            if (current.putIfAbsent(keyOf(state), state) == null) {
+                sample(reservoir, current.size(), state);
+            }
+        }
+        var moves = new MoveList<T>();
+        for (var distance = 0; !current.isEmpty(); distance++) {
+            emit(reservoir, distance, consumer);
+            if (distance == maxDistance) {
+                break;
+            }
+            var next = new LinkedHashMap<Object, State<T>>();
+            for (var state : current.values()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException();
+                }
+                moves.clear();
+                state.generateMoves(moves);
+                for (var i = 0; i < moves.size(); i++) {
+                    var child = state.clone();
+                    child.makeMove(moves.get(i));
+                    var key = keyOf(child);
+                    if (!previous.containsKey(key) && !current.containsKey(key)
+                            && next.putIfAbsent(key, child) == null) {
+                        sample(reservoir, next.size(), child);
+                    }
+                }
+            }
+            previous = current;
+            current = next;
+        }
+    }
+
+    /**
+     * Generates instances at each distance from the goal states up to the
+     * maximum distance specified, and writes them to the output provided. Each
+     * instance is written as its distance, i.e., an {@code int} value,
+     * followed by its state written by the codec. The output is not flushed.
+     *
+     * @param goals the goal states of the puzzle
+     * @param maxDistance the maximum distance of the instances
+     * @param codec the codec used to write the states
+     * @param out the output to write to
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if {@code maxDistance} is negative
+     * @throws CancellationException if the current thread is interrupted
+     * during the search
+     */
+    public void write(Collection<? extends State<T>> goals, int maxDistance,
+                      StateCodec<T> codec, DataOutput out) throws IOException {
+        try {
+            generate(goals, maxDistance, instance -> {
+                try {
+                    out.writeInt(instance.distance());
+                    codec.writeState(instance.state(), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Offers the {@code seen}-th state of a layer to the reservoir, i.e., the
+     * state replaces a random element of a full reservoir with probability
+     * {@code samplesPerLayer / seen}, thus, each state of the layer ends up in
+     * the reservoir with the same probability.
+     */
+    private void sample(List<State<T>> reservoir, int seen, State<T> state) {
+        if (reservoir.size() < samplesPerLayer) {
+            reservoir.add(state);
+        } else {
+            var index = random.nextInt(seen);
+            if (index < samplesPerLayer) {
+                reservoir.set(index, state);
+            }
+        }
+    }
+
+    private void emit(List<State<T>> reservoir, int distance, Consumer<? super Instance<T>> consumer) {
+        for (var state : reservoir) {
+            consumer.accept(new Instance<>(state.clone(), distance));
+        }
+        reservoir.clear();
+    }
+
+    private static Object keyOf(State<?> state) {
+        return state instanceof Canonicalizable<?> canonicalizable
+                ? canonicalizable.getCanonicalForm()
+                : state;
+    }
+
+}
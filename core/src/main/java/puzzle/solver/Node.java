@@ -1,9 +1,10 @@
 package puzzle.solver;
 
 import puzzle.State;
+import util.Canonicalizable;
+import util.MoveList;
 
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Represents the nodes of a search graph.
@@ -13,9 +14,11 @@ import java.util.Set;
 public class Node<T> {
 
     private final State<T> state;
-    private final Set<T> moves;
     private final Node<T> parent;
     private final T move;
+    private final int depth;
+    private MoveList<T> moves;
+    private int nextMove;
 
     /**
      * Creates a {@code Node} without a parent, i.e., a root node.
@@ -35,9 +38,9 @@ public class Node<T> {
      */
     public Node(State<T> state, Node<T> parent, T move) {
         this.state = state;
-        this.moves = state.getLegalMoves();
         this.parent = parent;
         this.move = move;
+        this.depth = parent == null ? 0 : parent.depth + 1;
     }
 
     /**
@@ -69,18 +72,30 @@ public class Node<T> {
         return Optional.ofNullable(move);
     }
 
+    /**
+     * {@return the depth of the node, i.e., the number of moves that lead to
+     * the state from the state of the root node}
+     */
+    public int getDepth() {
+        return depth;
+    }
+
     /**
      * {@return whether the node has at least one child node to be created with
      * the {@link #nextChild()} method}
      */
     public boolean hasNextChild() {
-        return !moves.isEmpty();
+        if (moves == null) {
+            moves = new MoveList<>();
+            state.generateMoves(moves);
+        }
+        return nextMove < moves.size();
     }
 
     /**
      * Creates and returns the next child of the node by applying a legal move
-     * to the state represented by the node. The move applied to the state is
-     * removed from the set of legal moves.
+     * to the state represented by the node. The legal moves are generated
+     * when first needed, and each of them is applied only once.
      *
      * @return an {@code Optional} describing the next child of the node, or an
      * empty {@code Optional} if there are no more children
@@ -89,12 +104,31 @@ public class Node<T> {
         if (!hasNextChild()) {
             return Optional.empty();
         }
-        var iterator = moves.iterator();
-        var move = iterator.next();
-        iterator.remove();
+        return Optional.of(createChild(moves.get(nextMove++)));
+    }
+
+    /**
+     * {@return the child of the node created by applying the move specified to
+     * the state represented by the node}
+     *
+     * @param move a legal move
+     */
+    Node<T> createChild(T move) {
         var newState = state.clone();
         newState.makeMove(move);
-        return Optional.of(new Node<>(newState, this, move));
+        return new Node<>(newState, this, move);
+    }
+
+    /**
+     * {@return the key identifying the state of the node in the bookkeeping
+     * of the solvers} It is the canonical form of the state if the state
+     * implements the {@link Canonicalizable} interface, or the node itself
+     * otherwise.
+     */
+    Object getKey() {
+        return state instanceof Canonicalizable<?> canonicalizable
+                ? canonicalizable.getCanonicalForm()
+                : this;
     }
 
     @Override
@@ -0,0 +1,22 @@
+package puzzle.solver;
+
+/**
+ * Receives notifications about the progress of a search. The methods are
+ * called on the thread running the search, thus, they should return quickly.
+ */
+@FunctionalInterface
+public interface SearchMonitor {
+
+    /**
+     * A monitor that ignores all notifications.
+     */
+    SearchMonitor NONE = node -> {};
+
+    /**
+     * Called when the children of a node are about to be generated.
+     *
+     * @param node the node expanded
+     */
+    void nodeExpanded(Node<?> node);
+
+}
@@ -0,0 +1,25 @@
+package puzzle.solver;
+
+/**
+ * Receives the solutions found by an anytime solver. Each solution reported
+ * is shorter than the previous ones, except when the previous solution is
+ * reported again with a tighter bound. The methods are called on the thread
+ * running the search, thus, they should return quickly.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+@FunctionalInterface
+public interface SolutionListener<T> {
+
+    /**
+     * Called when an improved solution is found.
+     *
+     * @param solution the node representing the solved state
+     * @param bound the bound on the suboptimality of the solution, i.e., the
+     *              solution is at most {@code bound} times longer than the
+     *              shortest one, or {@link Double#POSITIVE_INFINITY} if no
+     *              bound is known
+     */
+    void solutionFound(Node<T> solution, double bound);
+
+}
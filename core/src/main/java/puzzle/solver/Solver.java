@@ -0,0 +1,39 @@
+package puzzle.solver;
+
+import puzzle.State;
+
+import java.util.Optional;
+
+/**
+ * Represents an algorithm to solve puzzles.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public interface Solver<T> {
+
+    /**
+     * Searches for a solution for the puzzle starting from the state provided.
+     *
+     * @param state the initial state
+     * @return an {@code Optional} describing the solution for the puzzle, or
+     * an empty {@code Optional} if no solution is found
+     */
+    default Optional<Node<T>> solve(State<T> state) {
+        return solve(state, SearchMonitor.NONE);
+    }
+
+    /**
+     * Searches for a solution for the puzzle starting from the state provided,
+     * and reports the progress of the search to the monitor specified. The
+     * search is cancelled if the current thread is interrupted.
+     *
+     * @param state the initial state
+     * @param monitor the monitor to be notified of the progress of the search
+     * @return an {@code Optional} describing the solution for the puzzle, or
+     * an empty {@code Optional} if no solution is found
+     * @throws java.util.concurrent.CancellationException if the current thread
+     * is interrupted during the search
+     */
+    Optional<Node<T>> solve(State<T> state, SearchMonitor monitor);
+
+}
@@ -0,0 +1,53 @@
+package puzzle.solver;
+
+import puzzle.State;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts the states of a puzzle and the moves that can be applied to them
+ * to and from a binary representation. It is used by solvers to store their
+ * progress, thus, the representation should be as compact as possible, e.g.,
+ * the cells of a board should be packed into bytes or bits.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public interface StateCodec<T> {
+
+    /**
+     * Writes the state specified to the output provided.
+     *
+     * @param state the state to be written
+     * @param out the output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeState(State<T> state, DataOutput out) throws IOException;
+
+    /**
+     * {@return a state read from the input provided}
+     *
+     * @param in the input to read from
+     * @throws IOException if an I/O error occurs
+     */
+    State<T> readState(DataInput in) throws IOException;
+
+    /**
+     * Writes the move specified to the output provided.
+     *
+     * @param move the move to be written
+     * @param out the output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeMove(T move, DataOutput out) throws IOException;
+
+    /**
+     * {@return a move read from the input provided}
+     *
+     * @param in the input to read from
+     * @throws IOException if an I/O error occurs
+     */
+    T readMove(DataInput in) throws IOException;
+
+}
@@ -0,0 +1,118 @@
+package puzzle.solver;
+
+import util.MoveList;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+/**
+ * Implements an anytime variant of the weighted A* algorithm to solve puzzles.
+ * Nodes are expanded in the order of <em>g</em> + <em>w</em> &times;
+ * <em>h</em>, where <em>g</em> is the depth of the node, <em>h</em> is the
+ * heuristic estimate, and <em>w</em> is the weight. The search is restarted
+ * with a decreasing weight each time a solution is found, and nodes that
+ * cannot lead to a shorter solution are pruned. With an admissible heuristic,
+ * each solution found with weight <em>w</em> is at most <em>w</em> times
+ * longer than the shortest one, and the best solution is proven to be optimal
+ * once a search completes without finding a shorter one, or a search with
+ * weight 1 finds one.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class WeightedAStar<T> extends AnytimeSearch<T> {
+
+    private record Entry<T>(Node<T> node, int h, double f) {}
+
+    private final double initialWeight;
+    private final double weightDecrement;
+
+    /**
+     * Creates a {@code WeightedAStar} instance.
+     *
+     * @param heuristic the heuristic function to guide the search
+     * @param initialWeight the weight of the first search
+     * @param weightDecrement the amount by which the weight is decreased after
+     *                        each search
+     * @param timeLimit the wall-clock time after which the search returns the
+     *                  best solution found
+     * @throws IllegalArgumentException if the initial weight is less than 1, or
+     * if the decrement is not positive
+     */
+    public WeightedAStar(Heuristic<T> heuristic, double initialWeight, double weightDecrement, Duration timeLimit) {
+        super(heuristic, timeLimit);
+        if (initialWeight < 1 || weightDecrement <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.initialWeight = initialWeight;
+        this.weightDecrement = weightDecrement;
+    }
+
+    @Override
+    protected void search(Node<T> start, SearchMonitor monitor) {
+        var weight = initialWeight;
+        while (true) {
+            var complete = search(start, weight, monitor);
+            if (isTimeUp()) {
+                return;
+            }
+            if (complete) {
+                // The incumbent is proven to be optimal
+                tighten(1);
+                return;
+            }
+            weight = Math.max(1, weight - weightDecrement);
+        }
+    }
+
+    /**
+     * Performs a single weighted A* search.
+     *
+     * @return whether the incumbent is proven to be optimal, i.e., either a
+     * solution is found with weight 1, or the search space has been exhausted
+     * without finding a shorter solution than the incumbent
+     */
+    private boolean search(Node<T> start, double weight, SearchMonitor monitor) {
+        var open = new PriorityQueue<Entry<T>>(Comparator.<Entry<T>>comparingDouble(Entry::f)
+                .thenComparing(Comparator.comparingInt((Entry<T> entry) -> entry.node().getDepth()).reversed()));
+        var bestDepths = new HashMap<Object, Integer>();
+        var moves = new MoveList<T>();
+        var h = heuristic.estimate(start.getState());
+        open.add(new Entry<>(start, h, weight * h));
+        bestDepths.put(start.getKey(), 0);
+        while (!open.isEmpty()) {
+            if (isTimeUp()) {
+                return false;
+            }
+            var entry = open.poll();
+            var selected = entry.node();
+            if (selected.getDepth() > bestDepths.get(selected.getKey())
+                    || selected.getDepth() + entry.h() >= getIncumbentCost()) {
+                continue;
+            }
+            if (selected.getState().isSolved()) {
+                improve(selected, weight);
+                return weight == 1;
+            }
+            monitor.nodeExpanded(selected);
+            moves.clear();
+            selected.getState().generateMoves(moves);
+            for (var i = 0; i < moves.size(); i++) {
+                var child = selected.createChild(moves.get(i));
+                var key = child.getKey();
+                var depth = child.getDepth();
+                var bestDepth = bestDepths.get(key);
+                if (bestDepth == null || depth < bestDepth) {
+                    var childH = heuristic.estimate(child.getState());
+                    if (depth + childH < getIncumbentCost()) {
+                        bestDepths.put(key, depth);
+                        open.add(new Entry<>(child, childH, depth + weight * childH));
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+}
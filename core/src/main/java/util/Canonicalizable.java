@@ -0,0 +1,28 @@
+package util;
+
+/**
+ * Represents states of puzzles or games that are symmetric, e.g., under the
+ * rotations and reflections of a square board. Symmetric states are mapped to
+ * the same canonical form, thus, solvers and transposition tables can treat
+ * them as a single state.
+ *
+ * <p>Symmetric states must be equivalent with respect to the search, e.g., a
+ * puzzle state must be solved if and only if each of its symmetric variants
+ * is solved, and the status of symmetric game states must be the same. Since
+ * solvers key only their bookkeeping on the canonical form, and they keep
+ * applying moves to the original states, the solutions found are expressed in
+ * the orientation of the initial state.
+ *
+ * @param <C> represents the canonical forms of the states
+ */
+public interface Canonicalizable<C> {
+
+    /**
+     * {@return the canonical form of the state} Symmetric states must have
+     * equal canonical forms, and states that are not symmetric must have
+     * different ones. The canonical form must implement {@code equals} and
+     * {@code hashCode} consistently.
+     */
+    C getCanonicalForm();
+
+}
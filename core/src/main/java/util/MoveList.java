@@ -0,0 +1,119 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A growable list of moves to be reused for generating the moves of several
+ * states. Solvers should keep an instance per thread or per search depth and
+ * {@linkplain #clear() clear} it before generating the moves of the next
+ * state, thus, no allocation takes place once the capacity has grown large
+ * enough.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class MoveList<T> implements MoveSink<T>, Iterable<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] elements;
+    private int size;
+
+    /**
+     * Creates an empty {@code MoveList} with the default initial capacity.
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty {@code MoveList} with the initial capacity specified.
+     *
+     * @param capacity the initial capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public MoveList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Appends the move specified to the end of the list.
+     *
+     * @param move a move that can be applied to the state
+     */
+    @Override
+    public void accept(T move) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        elements[size++] = move;
+    }
+
+    /**
+     * {@return the move at the position specified}
+     *
+     * @param index the position of the move
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) elements[index];
+    }
+
+    /**
+     * {@return the number of moves in the list}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return whether the list contains no moves}
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the moves from the list. The capacity of the list is
+     * retained.
+     */
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+
+        };
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(elements, size));
+    }
+
+}
@@ -0,0 +1,19 @@
+package util;
+
+/**
+ * Represents a consumer of the moves generated for a state. It enables move
+ * generation without allocating a new collection for each state.
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+@FunctionalInterface
+public interface MoveSink<T> {
+
+    /**
+     * Accepts a move generated.
+     *
+     * @param move a move that can be applied to the state
+     */
+    void accept(T move);
+
+}
@@ -0,0 +1,137 @@
+package util;
+
+/**
+ * Represents the eight symmetries of a square board, i.e., its rotations and
+ * reflections. A board of size <em>n</em> &times; <em>n</em> is represented by
+ * an {@code int} array of length <em>n</em><sup>2</sup> in row-major order,
+ * where each element encodes the content of a cell.
+ *
+ * <p>It helps implementing the {@link Canonicalizable} interface. Consider, for
+ * example, a state that stores its board in an {@code int[] cells} array:
+ * {@snippet :
+ * @Override
+ * public List<Integer> getCanonicalForm() {
+ *     var symmetry = SquareSymmetry.canonical(cells, SIZE);
+ *     return Arrays.stream(symmetry.apply(cells, SIZE)).boxed().toList();
+ * }
+ * }
+ */
+public enum SquareSymmetry {
+
+    IDENTITY,
+    ROTATE_90,
+    ROTATE_180,
+    ROTATE_270,
+    REFLECT_HORIZONTAL,
+    REFLECT_VERTICAL,
+    REFLECT_DIAGONAL,
+    REFLECT_ANTI_DIAGONAL;
+
+    /**
+     * {@return the row index where the cell specified is moved to}
+     *
+     * @param row the row index of a cell
+     * @param col the column index of a cell
+     * @param size the number of rows and columns of the board
+     */
+    public int row(int row, int col, int size) {
+        return switch (this) {
+            case IDENTITY, REFLECT_HORIZONTAL -> row;
+            case ROTATE_90, REFLECT_DIAGONAL -> col;
+            case ROTATE_180, REFLECT_VERTICAL -> size - 1 - row;
+            case ROTATE_270, REFLECT_ANTI_DIAGONAL -> size - 1 - col;
+        };
+    }
+
+    /**
+     * {@return the column index where the cell specified is moved to}
+     *
+     * @param row the row index of a cell
+     * @param col the column index of a cell
+     * @param size the number of rows and columns of the board
+     */
+    public int col(int row, int col, int size) {
+        return switch (this) {
+            case IDENTITY, REFLECT_VERTICAL -> col;
+            case ROTATE_90, REFLECT_ANTI_DIAGONAL -> size - 1 - row;
+            case ROTATE_180, REFLECT_HORIZONTAL -> size - 1 - col;
+            case ROTATE_270, REFLECT_DIAGONAL -> row;
+        };
+    }
+
+    /**
+     * {@return the row-major index where the cell with the row-major index
+     * specified is moved to}
+     *
+     * @param index the row-major index of a cell
+     * @param size the number of rows and columns of the board
+     */
+    public int index(int index, int size) {
+        var row = index / size;
+        var col = index % size;
+        return row(row, col, size) * size + col(row, col, size);
+    }
+
+    /**
+     * {@return the symmetry that reverts this symmetry}
+     */
+    public SquareSymmetry inverse() {
+        return switch (this) {
+            case ROTATE_90 -> ROTATE_270;
+            case ROTATE_270 -> ROTATE_90;
+            default -> this;
+        };
+    }
+
+    /**
+     * {@return a new array representing the board specified transformed by
+     * this symmetry}
+     *
+     * @param cells the cells of a board in row-major order
+     * @param size the number of rows and columns of the board
+     */
+    public int[] apply(int[] cells, int size) {
+        var result = new int[cells.length];
+        for (var i = 0; i < cells.length; i++) {
+            result[index(i, size)] = cells[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the symmetry that transforms the board specified to its
+     * canonical form, i.e., to the lexicographically smallest one among its
+     * symmetric variants. The variants are compared without being created.
+     *
+     * @param cells the cells of a board in row-major order
+     * @param size the number of rows and columns of the board
+     * @return the symmetry that transforms the board to its canonical form
+     * @throws IllegalArgumentException if the length of the array is not the
+     * square of the size
+     */
+    public static SquareSymmetry canonical(int[] cells, int size) {
+        if (cells.length != size * size) {
+            throw new IllegalArgumentException();
+        }
+        var best = IDENTITY;
+        for (var symmetry : values()) {
+            if (compare(cells, size, symmetry, best) < 0) {
+                best = symmetry;
+            }
+        }
+        return best;
+    }
+
+    private static int compare(int[] cells, int size, SquareSymmetry first, SquareSymmetry second) {
+        var firstInverse = first.inverse();
+        var secondInverse = second.inverse();
+        for (var i = 0; i < cells.length; i++) {
+            var result = Integer.compare(cells[firstInverse.index(i, size)], cells[secondInverse.index(i, size)]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,20 @@
+package util;
+
+/**
+ * Represents a consumer of the moves generated for a state whose moves are
+ * described by two objects, i.e., {@code from} and {@code to}.
+ *
+ * @param <T> represents the type of the source and the target of the moves
+ */
+@FunctionalInterface
+public interface TwoPhaseMoveSink<T> {
+
+    /**
+     * Accepts a move generated.
+     *
+     * @param from represents where to move from
+     * @param to represents where to move to
+     */
+    void accept(T from, T to);
+
+}
@@ -3,11 +3,29 @@ package game.util;
 import game.TwoPhaseMoveState;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlySetProperty;
+import javafx.beans.property.ReadOnlySetWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class to determine the move of the next player in two-phase move type
  * games. It serves to select a source and a target that together make up a move.
  *
+ * <p>If the locations that can be the source or the target of a move are
+ * provided, the legal targets of each source are computed once and cached
+ * until the next move is made via {@link #makeMove()}. Thus, validating a
+ * selection and querying the legal targets of the source selected are constant
+ * time operations. If the state is modified by other means,
+ * {@link #invalidate()} must be called. Without the locations, each selection
+ * is validated by the state, and the set of legal targets remains empty.
+ *
  * @param <T> represents the moves that can be applied to the states
  */
 public class TwoPhaseMoveSelector<T> {
@@ -23,7 +41,10 @@ public class TwoPhaseMoveSelector<T> {
     }
 
     private final TwoPhaseMoveState<T> state;
+    private final Collection<T> locations;
     private final ReadOnlyObjectWrapper<Phase> phase = new ReadOnlyObjectWrapper<>(Phase.SELECT_FROM);
+    private final ReadOnlySetWrapper<T> targets = new ReadOnlySetWrapper<>(FXCollections.emptyObservableSet());
+    private Map<T, ObservableSet<T>> targetsIndex;
     private boolean invalidSelection = false;
     private T from;
     private T to;
@@ -35,7 +56,21 @@ public class TwoPhaseMoveSelector<T> {
      * @param state the state in which the next move is to be made
      */
     public TwoPhaseMoveSelector(TwoPhaseMoveState<T> state) {
+        this(state, List.of());
+    }
+
+    /**
+     * Creates a {@code TwoPhaseMoveSelector} object to determine the move of
+     * the next player in the state specified, whose legal targets are computed
+     * from the locations specified.
+     *
+     * @param state the state in which the next move is to be made
+     * @param locations all the locations that can be the source or the target
+     *                  of a move, e.g., all the positions of a board
+     */
+    public TwoPhaseMoveSelector(TwoPhaseMoveState<T> state, Collection<T> locations) {
         this.state = state;
+        this.locations = List.copyOf(locations);
     }
 
     /**
@@ -52,6 +87,21 @@ public class TwoPhaseMoveSelector<T> {
         return phase.getReadOnlyProperty();
     }
 
+    /**
+     * {@return the set of legal targets of the source selected} The set is
+     * empty if no source is selected, or if no locations were provided.
+     */
+    public ObservableSet<T> getTargets() {
+        return targets.get();
+    }
+
+    /**
+     * Represents the set of legal targets of the source selected.
+     */
+    public ReadOnlySetProperty<T> targetsProperty() {
+        return targets.getReadOnlyProperty();
+    }
+
     /**
      * {@return whether the move is ready to be made}
      */
@@ -75,8 +125,11 @@ public class TwoPhaseMoveSelector<T> {
     }
 
     private void selectFrom(T from) {
-        if (state.isLegalToMoveFrom(from)) {
+        if (isIndexed() ? getTargetsIndex().containsKey(from) : state.isLegalToMoveFrom(from)) {
             this.from = from;
+            if (isIndexed()) {
+                targets.set(getTargetsIndex().get(from));
+            }
             phase.set(Phase.SELECT_TO);
             invalidSelection = false;
         } else {
@@ -85,7 +138,7 @@ public class TwoPhaseMoveSelector<T> {
     }
 
     private void selectTo(T to) {
-        if (state.isLegalMove(from, to)) {
+        if (isIndexed() ? targets.contains(to) : state.isLegalMove(from, to)) {
             this.to = to;
             phase.set(Phase.READY_TO_MOVE);
             invalidSelection = false;
@@ -133,9 +186,41 @@ public class TwoPhaseMoveSelector<T> {
             throw new IllegalStateException();
         }
         state.makeMove(from, to);
+        invalidate();
         reset();
     }
 
+    /**
+     * Discards the cached legal targets. It must be called if the state is
+     * modified by other means than {@link #makeMove()}.
+     */
+    public void invalidate() {
+        targetsIndex = null;
+    }
+
+    private boolean isIndexed() {
+        return !locations.isEmpty();
+    }
+
+    private Map<T, ObservableSet<T>> getTargetsIndex() {
+        if (targetsIndex == null) {
+            targetsIndex = new HashMap<>();
+            for (var source : locations) {
+                if (state.isLegalToMoveFrom(source)) {
+                    var set = new HashSet<T>();
+                    for (var target : locations) {
+                        if (state.isLegalMove(source, target)) {
+                            set.add(target);
+                        }
+                    }
+                    targetsIndex.put(source,
+                            FXCollections.unmodifiableObservableSet(FXCollections.observableSet(set)));
+                }
+            }
+        }
+        return targetsIndex;
+    }
+
     /**
      * Resets the selection, i.e., resets both the source and the target
      * selected.
@@ -143,6 +228,7 @@ public class TwoPhaseMoveSelector<T> {
     public void reset() {
         from = null;
         to = null;
+        targets.set(FXCollections.emptyObservableSet());
         phase.set(Phase.SELECT_FROM);
         invalidSelection = false;
     }
@@ -0,0 +1,12 @@
+/**
+ * Provides the JavaFX adapters of the utilities, e.g., move selectors exposing
+ * JavaFX properties and image storages.
+ */
+module homework.project.utils.javafx {
+    requires transitive homework.project.utils.core;
+    requires transitive javafx.graphics;
+
+    exports game.util;
+    exports puzzle.util;
+    exports util.javafx;
+}
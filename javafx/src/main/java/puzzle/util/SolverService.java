@@ -0,0 +1,228 @@
+package puzzle.util;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import puzzle.State;
+import puzzle.solver.Node;
+import puzzle.solver.SearchMonitor;
+import puzzle.solver.Solver;
+
+import java.lang.System.Logger;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Utility class to run a puzzle solver in the background, e.g., to provide a
+ * hint or to solve the puzzle automatically without freezing the user
+ * interface. The progress and the result of the search are published as
+ * JavaFX properties that are updated on the JavaFX application thread.
+ *
+ * <p>Only one search is running at a time. Starting a new search, e.g., when
+ * the state of the puzzle changes, cancels the previous one.
+ *
+ * {@snippet :
+ * var service = new SolverService<>(new BreadthFirstSearch<TwoPhaseMove<Position>>());
+ * service.solutionProperty().addListener((observable, oldValue, newValue) -> {
+ *     if (newValue != null) {
+ *         newValue.ifPresent(node -> showHint(node));
+ *     }
+ * });
+ * service.start(state);
+ * }
+ *
+ * @param <T> represents the moves that can be applied to the states
+ */
+public class SolverService<T> {
+
+    private static final Logger logger = System.getLogger(SolverService.class.getName());
+
+    private final Solver<T> solver;
+    private final ExecutorService executor;
+    private final ReadOnlyBooleanWrapper running = new ReadOnlyBooleanWrapper(false);
+    private final ReadOnlyLongWrapper expandedNodes = new ReadOnlyLongWrapper(0);
+    private final ReadOnlyIntegerWrapper depth = new ReadOnlyIntegerWrapper(0);
+    private final ReadOnlyObjectWrapper<Optional<Node<T>>> solution = new ReadOnlyObjectWrapper<>();
+    private Future<?> future;
+    private Progress current;
+
+    /**
+     * Represents the progress of a single search. It is updated by the thread
+     * running the search, and it is published on the JavaFX application
+     * thread.
+     */
+    private class Progress implements SearchMonitor {
+
+        private final AtomicBoolean updatePending = new AtomicBoolean(false);
+        private volatile long expandedNodes;
+        private volatile int depth;
+
+        @Override
+        public void nodeExpanded(Node<?> node) {
+            expandedNodes++;
+            depth = node.getDepth();
+            // At most one update is waiting to be run on the JavaFX application thread
+            if (updatePending.compareAndSet(false, true)) {
+                Platform.runLater(this::publish);
+            }
+        }
+
+        private void publish() {
+            updatePending.set(false);
+            if (current == this) {
+                SolverService.this.expandedNodes.set(expandedNodes);
+                SolverService.this.depth.set(depth);
+            }
+        }
+
+    }
+
+    /**
+     * Creates a {@code SolverService} that runs the solver specified on
+     * virtual threads.
+     *
+     * @param solver the solver to be used
+     */
+    public SolverService(Solver<T> solver) {
+        this(solver, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates a {@code SolverService} that runs the solver specified with the
+     * executor provided.
+     *
+     * @param solver the solver to be used
+     * @param executor the executor to run the searches
+     */
+    public SolverService(Solver<T> solver, ExecutorService executor) {
+        this.solver = Objects.requireNonNull(solver);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Starts searching for a solution from the state specified, cancelling the
+     * search in progress, if any. The search is performed on a copy of the
+     * state, thus, the state can be modified safely while searching. This
+     * method must be called on the JavaFX application thread.
+     *
+     * @param state the initial state
+     */
+    public void start(State<T> state) {
+        cancel();
+        var progress = new Progress();
+        var copy = state.clone();
+        current = progress;
+        expandedNodes.set(0);
+        depth.set(0);
+        solution.set(null);
+        running.set(true);
+        future = executor.submit(() -> {
+            try {
+                var result = solver.solve(copy, progress);
+                Platform.runLater(() -> finish(progress, result));
+            } catch (CancellationException e) {
+                // Cancelled
+            } catch (Throwable e) {
+                // Errors, e.g., an OutOfMemoryError of a large search, must
+                // also finish the search, otherwise it seems to run forever
+                logger.log(Logger.Level.ERROR, "Search failed", e);
+                Platform.runLater(() -> finish(progress, null));
+            }
+        });
+    }
+
+    private void finish(Progress progress, Optional<Node<T>> result) {
+        if (current != progress) {
+            return;
+        }
+        expandedNodes.set(progress.expandedNodes);
+        depth.set(progress.depth);
+        solution.set(result);
+        running.set(false);
+        current = null;
+        future = null;
+    }
+
+    /**
+     * Cancels the search in progress, if any. This method must be called on
+     * the JavaFX application thread.
+     */
+    public void cancel() {
+        if (future != null) {
+            future.cancel(true);
+            future = null;
+        }
+        current = null;
+        running.set(false);
+    }
+
+    /**
+     * {@return whether a search is in progress}
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Represents whether a search is in progress.
+     */
+    public ReadOnlyBooleanProperty runningProperty() {
+        return running.getReadOnlyProperty();
+    }
+
+    /**
+     * {@return the number of nodes expanded by the current or the last search}
+     */
+    public long getExpandedNodes() {
+        return expandedNodes.get();
+    }
+
+    /**
+     * Represents the number of nodes expanded by the current or the last
+     * search.
+     */
+    public ReadOnlyLongProperty expandedNodesProperty() {
+        return expandedNodes.getReadOnlyProperty();
+    }
+
+    /**
+     * {@return the depth of the node expanded most recently}
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Represents the depth of the node expanded most recently.
+     */
+    public ReadOnlyIntegerProperty depthProperty() {
+        return depth.getReadOnlyProperty();
+    }
+
+    /**
+     * {@return the result of the last search completed} It is {@code null} if
+     * the search is in progress, if it was cancelled, or if it failed.
+     */
+    public Optional<Node<T>> getSolution() {
+        return solution.get();
+    }
+
+    /**
+     * Represents the result of the last search completed.
+     */
+    public ReadOnlyObjectProperty<Optional<Node<T>>> solutionProperty() {
+        return solution.getReadOnlyProperty();
+    }
+
+}
@@ -3,11 +3,26 @@ package puzzle.util;
 import puzzle.TwoPhaseMoveState;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlySetProperty;
+import javafx.beans.property.ReadOnlySetWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Utility class to determine the next move in two-phase move type puzzles. It
  * serves to select a source and a target that together make up a move.
  *
+ * <p>The legal targets of each source are computed once from
+ * {@link TwoPhaseMoveState#getLegalMoves()} and cached until the next move is
+ * made via {@link #makeMove()}. Thus, validating a selection and querying the
+ * legal targets of the source selected are constant time operations. If the
+ * state is modified by other means, {@link #invalidate()} must be called.
+ *
  * @param <T> represents the type of the source and the target of the moves
  */
 public class TwoPhaseMoveSelector<T> {
@@ -24,6 +39,8 @@ public class TwoPhaseMoveSelector<T> {
 
     private final TwoPhaseMoveState<T> state;
     private final ReadOnlyObjectWrapper<Phase> phase = new ReadOnlyObjectWrapper<>(Phase.SELECT_FROM);
+    private final ReadOnlySetWrapper<T> targets = new ReadOnlySetWrapper<>(FXCollections.emptyObservableSet());
+    private Map<T, ObservableSet<T>> targetsIndex;
     private boolean invalidSelection = false;
     private T from;
     private T to;
@@ -52,6 +69,21 @@ public class TwoPhaseMoveSelector<T> {
         return phase.getReadOnlyProperty();
     }
 
+    /**
+     * {@return the set of legal targets of the source selected} The set is
+     * empty if no source is selected.
+     */
+    public ObservableSet<T> getTargets() {
+        return targets.get();
+    }
+
+    /**
+     * Represents the set of legal targets of the source selected.
+     */
+    public ReadOnlySetProperty<T> targetsProperty() {
+        return targets.getReadOnlyProperty();
+    }
+
     /**
      * {@return whether the move is ready to be made}
      */
@@ -75,8 +107,10 @@ public class TwoPhaseMoveSelector<T> {
     }
 
     private void selectFrom(T from) {
-        if (state.isLegalToMoveFrom(from)) {
+        var legalTargets = getTargetsIndex().get(from);
+        if (legalTargets != null) {
             this.from = from;
+            targets.set(legalTargets);
             phase.set(Phase.SELECT_TO);
             invalidSelection = false;
         } else {
@@ -85,7 +119,7 @@ public class TwoPhaseMoveSelector<T> {
     }
 
     private void selectTo(T to) {
-        if (state.isLegalMove(new TwoPhaseMoveState.TwoPhaseMove<>(from, to))) {
+        if (targets.contains(to)) {
             this.to = to;
             phase.set(Phase.READY_TO_MOVE);
             invalidSelection = false;
@@ -133,9 +167,31 @@ public class TwoPhaseMoveSelector<T> {
             throw new IllegalStateException();
         }
         state.makeMove(new TwoPhaseMoveState.TwoPhaseMove<>(from, to));
+        invalidate();
         reset();
     }
 
+    /**
+     * Discards the cached legal targets. It must be called if the state is
+     * modified by other means than {@link #makeMove()}.
+     */
+    public void invalidate() {
+        targetsIndex = null;
+    }
+
+    private Map<T, ObservableSet<T>> getTargetsIndex() {
+        if (targetsIndex == null) {
+            var index = new HashMap<T, Set<T>>();
+            for (var move : state.getLegalMoves()) {
+                index.computeIfAbsent(move.from(), key -> new HashSet<>()).add(move.to());
+            }
+            targetsIndex = new HashMap<>();
+            index.forEach((key, value) -> targetsIndex.put(key,
+                    FXCollections.unmodifiableObservableSet(FXCollections.observableSet(value))));
+        }
+        return targetsIndex;
+    }
+
     /**
      * Resets the selection, i.e., resets both the source and the target
      * selected.
@@ -143,6 +199,7 @@ public class TwoPhaseMoveSelector<T> {
     public void reset() {
         from = null;
         to = null;
+        targets.set(FXCollections.emptyObservableSet());
         phase.set(Phase.SELECT_FROM);
         invalidSelection = false;
     }
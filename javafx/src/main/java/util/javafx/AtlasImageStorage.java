@@ -0,0 +1,231 @@
+package util.javafx;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.lang.System.Logger;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An implementation of the {@code ImageStorage} interface that packs the PNG
+ * images associated with the constants of an enum into a single texture atlas.
+ * The images are looked up the same way as by {@link EnumImageStorage}.
+ *
+ * <p>For each cell size requested, the images are scaled once to fit within a
+ * square cell of that size, and they are drawn into an atlas. The scaled
+ * images are computed from the original ones already in memory, so the
+ * resources are neither read nor decoded again. An
+ * {@link ImageView} displaying an image of the storage refers to the atlas
+ * with a viewport, thus, rendering a board needs neither a separate texture
+ * for each piece nor resampling on each layout pass. A few atlases of the
+ * most recently used cell sizes are kept.
+ *
+ * <p>Consider, for example, the {@code Piece} enum of the
+ * {@link EnumImageStorage} example. A view showing a piece can be updated
+ * whenever the size of the board cells changes:
+ * {@snippet :
+ * var storage = new AtlasImageStorage<>(Piece.class);
+ * var view = new ImageView();
+ * storage.updateView(view, Piece.WHITE_KNIGHT, 64);
+ * }
+ *
+ * <p>This class is not thread-safe, it should be used on the JavaFX
+ * application thread.
+ *
+ * @param <T> an enum whose constants are represented by PNG images
+ */
+public class AtlasImageStorage<T extends Enum<T>> implements ImageStorage<T> {
+
+    private static final Logger logger = System.getLogger(AtlasImageStorage.class.getName());
+
+    private static final int MAX_ATLASES = 4;
+
+    private record Atlas<T>(Image image, Map<T, Rectangle2D> viewports) {}
+
+    private final Class<T> enumClass;
+    private final Map<T, Image> images;
+    private final Map<Integer, Atlas<T>> atlases = new LinkedHashMap<>(MAX_ATLASES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Atlas<T>> eldest) {
+            return size() > MAX_ATLASES;
+        }
+    };
+
+    /**
+     * Creates an {@code AtlasImageStorage} instance for the enum specified.
+     * The images in their original size are loaded via the
+     * {@linkplain ImageCache#getDefault() process-wide image cache}.
+     *
+     * @param enumClass a {@code Class} object representing an enum
+     */
+    public AtlasImageStorage(Class<T> enumClass) {
+        this.enumClass = enumClass;
+        images = new EnumMap<>(enumClass);
+        var path = enumClass.getPackage().getName().replace(".", "/");
+        for (var constant : enumClass.getEnumConstants()) {
+            var url = String.format("%s/%s.png", path, constant.name().toLowerCase());
+            try {
+                var image = ImageCache.getDefault().get(url, false);
+                if (!image.isError()) {
+                    images.put(constant, image);
+                    logger.log(Logger.Level.INFO, "Loaded image from {0}", url);
+                }
+            } catch (Exception e) {
+                // Failed to load image
+                logger.log(Logger.Level.WARNING, "Failed to load image from {0}", url);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc} The image is returned in its original size.
+     *
+     * @param constant the constant for which the associated image should be
+     *                 returned
+     */
+    @Override
+    public Optional<Image> get(T constant) {
+        return Optional.ofNullable(images.get(constant));
+    }
+
+    /**
+     * {@return the atlas containing the images scaled to the cell size
+     * specified}
+     *
+     * @param cellSize the width and height of a cell in pixels
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public Image getAtlas(int cellSize) {
+        return atlasOf(cellSize).image();
+    }
+
+    /**
+     * Returns the cell of the atlas of the cell size specified that contains
+     * the image associated with the constant specified.
+     *
+     * @param constant an enum constant
+     * @param cellSize the width and height of a cell in pixels
+     * @return an {@code Optional} describing the cell of the atlas, or an
+     * empty optional if no image is associated with the constant
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public Optional<Rectangle2D> getViewport(T constant, int cellSize) {
+        return Optional.ofNullable(atlasOf(cellSize).viewports().get(constant));
+    }
+
+    /**
+     * Makes the view specified display the image associated with the constant
+     * specified scaled to the cell size specified. If no image is associated
+     * with the constant, the view is cleared.
+     *
+     * @param view the view to be updated
+     * @param constant an enum constant
+     * @param cellSize the width and height of a cell in pixels
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public void updateView(ImageView view, T constant, int cellSize) {
+        var atlas = atlasOf(cellSize);
+        var viewport = atlas.viewports().get(constant);
+        view.setFitWidth(0);
+        view.setFitHeight(0);
+        if (viewport != null) {
+            view.setImage(atlas.image());
+            view.setViewport(viewport);
+        } else {
+            view.setImage(null);
+            view.setViewport(null);
+        }
+    }
+
+    private Atlas<T> atlasOf(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        var atlas = atlases.get(cellSize);
+        if (atlas == null) {
+            atlas = createAtlas(cellSize);
+            atlases.put(cellSize, atlas);
+        }
+        return atlas;
+    }
+
+    private Atlas<T> createAtlas(int cellSize) {
+        var count = Math.max(1, images.size());
+        var columns = (int) Math.ceil(Math.sqrt(count));
+        var rows = (count + columns - 1) / columns;
+        var image = new WritableImage(columns * cellSize, rows * cellSize);
+        var writer = image.getPixelWriter();
+        var viewports = new EnumMap<T, Rectangle2D>(enumClass);
+        var index = 0;
+        for (var entry : images.entrySet()) {
+            var original = entry.getValue();
+            var scale = Math.min(cellSize / original.getWidth(), cellSize / original.getHeight());
+            var width = Math.clamp(Math.round(original.getWidth() * scale), 1, cellSize);
+            var height = Math.clamp(Math.round(original.getHeight() * scale), 1, cellSize);
+            var x = (index % columns) * cellSize;
+            var y = (index / columns) * cellSize;
+            // The image is centered within its cell
+            writer.setPixels(x + (cellSize - width) / 2, y + (cellSize - height) / 2, width, height,
+                    PixelFormat.getIntArgbInstance(), scale(original, width, height), 0, width);
+            viewports.put(entry.getKey(), new Rectangle2D(x, y, cellSize, cellSize));
+            index++;
+        }
+        logger.log(Logger.Level.DEBUG, "Created {0}x{1} atlas for cell size {2}",
+                image.getWidth(), image.getHeight(), cellSize);
+        return new Atlas<>(image, viewports);
+    }
+
+    /**
+     * Scales the image specified to the size specified by area averaging,
+     * i.e., each pixel of the result is the average of the source pixels it
+     * covers, weighted by the area of the overlap. The colors are averaged
+     * with premultiplied alpha so that transparent pixels do not darken the
+     * edges.
+     *
+     * @return the pixels of the scaled image in {@code IntArgb} format
+     */
+    private static int[] scale(Image image, int width, int height) {
+        var sourceWidth = (int) image.getWidth();
+        var sourceHeight = (int) image.getHeight();
+        var source = new int[sourceWidth * sourceHeight];
+        image.getPixelReader().getPixels(0, 0, sourceWidth, sourceHeight,
+                PixelFormat.getIntArgbInstance(), source, 0, sourceWidth);
+        var xScale = (double) sourceWidth / width;
+        var yScale = (double) sourceHeight / height;
+        var pixels = new int[width * height];
+        for (var y = 0; y < height; y++) {
+            var top = y * yScale;
+            var bottom = (y + 1) * yScale;
+            for (var x = 0; x < width; x++) {
+                var left = x * xScale;
+                var right = (x + 1) * xScale;
+                double a = 0, r = 0, g = 0, b = 0;
+                for (var sy = (int) top; sy < Math.min(Math.ceil(bottom), sourceHeight); sy++) {
+                    var h = Math.min(bottom, sy + 1) - Math.max(top, sy);
+                    for (var sx = (int) left; sx < Math.min(Math.ceil(right), sourceWidth); sx++) {
+                        var weight = h * (Math.min(right, sx + 1) - Math.max(left, sx));
+                        var argb = source[sy * sourceWidth + sx];
+                        var alpha = (argb >>> 24) * weight;
+                        a += alpha;
+                        r += ((argb >> 16) & 0xff) * alpha;
+                        g += ((argb >> 8) & 0xff) * alpha;
+                        b += (argb & 0xff) * alpha;
+                    }
+                }
+                pixels[y * width + x] = a == 0 ? 0
+                        : (int) Math.min(Math.round(a / (xScale * yScale)), 255) << 24
+                        | (int) Math.round(r / a) << 16
+                        | (int) Math.round(g / a) << 8
+                        | (int) Math.round(b / a);
+            }
+        }
+        return pixels;
+    }
+
+}
@@ -0,0 +1,179 @@
+package util.javafx;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.image.Image;
+
+import java.lang.System.Logger;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An implementation of the {@code ImageStorage} interface that associates PNG
+ * images with the constants of an enum. The images representing the constants
+ * of the enum specified are loaded via the classloader when an instance of the
+ * class is created.
+ *
+ * <p>Consider, for example, the following enum:
+ * {@snippet :
+ * package chess.puzzle;
+ * enum Piece {
+ *     WHITE_KNIGHT,
+ *     BLACK_KNIGHT
+ * }
+ * }
+ * The code {@code new EnumImageStorage(Piece.class)} will search for
+ * {@code white_knight.png} and {@code black_knight.png} in the
+ * {@code chess.puzzle} package, respectively. Thus, in the case of an Apache
+ * Maven project, the images should be kept under the
+ * {@code src/main/resources/chess/puzzle} directory. It is not needed to have
+ * an image for each of the enum constants.
+ *
+ * <p>By default, the images are loaded one after the other on the calling
+ * thread. If background loading is requested, the constructor returns
+ * immediately, and the images are decoded in parallel in the background. In
+ * this case, {@link #get(Enum)} returns images that might not have been loaded
+ * yet, and the {@link #progressProperty()} and {@link #loadedProperty()}
+ * properties report the progress of loading.
+ *
+ * <p>The images are obtained from the {@linkplain ImageCache#getDefault()
+ * process-wide image cache}, thus, storages created for the same enum share
+ * the images.
+ *
+ * @param <T> an enum whose constants are represented by PNG images
+ */
+public class EnumImageStorage<T extends Enum<T>> implements ImageStorage<T> {
+
+    private static final Logger logger = System.getLogger(EnumImageStorage.class.getName());
+
+    private final Map<T, Image> map;
+    private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(1.0);
+    private final ReadOnlyBooleanWrapper loaded = new ReadOnlyBooleanWrapper(true);
+
+    /**
+     * Creates an {@code EnumImageStorage} instance for the enum specified. The
+     * images are loaded on the calling thread.
+     *
+     * @param enumClass a {@code Class} object representing an enum
+     */
+    public EnumImageStorage(Class<T> enumClass) {
+        this(enumClass, false);
+    }
+
+    /**
+     * Creates an {@code EnumImageStorage} instance for the enum specified.
+     *
+     * @param enumClass a {@code Class} object representing an enum
+     * @param backgroundLoading whether the images should be loaded in the
+     *                          background
+     */
+    public EnumImageStorage(Class<T> enumClass, boolean backgroundLoading) {
+        map = new EnumMap<>(enumClass);
+        var path = enumClass.getPackage().getName().replace(".", "/");
+        for (var constant : enumClass.getEnumConstants()) {
+            var url = String.format("%s/%s.png", path, constant.name().toLowerCase());
+            try {
+                var image = ImageCache.getDefault().get(url, backgroundLoading);
+                map.put(constant, image);
+                if (image.getProgress() < 1.0 && !image.isError()) {
+                    // The image can be incomplete even if it is not loaded in
+                    // the background, e.g., when it was requested with
+                    // background loading earlier. The images are shared via
+                    // the cache, thus, the listener is detached once the image
+                    // is complete, otherwise the cache would keep this storage
+                    // reachable
+                    var listener = new InvalidationListener() {
+                        @Override
+                        public void invalidated(Observable observable) {
+                            if (image.isError()) {
+                                logger.log(Logger.Level.WARNING, "Failed to load image from {0}", url);
+                            }
+                            if (image.isError() || image.getProgress() >= 1.0) {
+                                image.progressProperty().removeListener(this);
+                                image.errorProperty().removeListener(this);
+                            }
+                            updateProgress();
+                        }
+                    };
+                    image.progressProperty().addListener(listener);
+                    image.errorProperty().addListener(listener);
+                    listener.invalidated(image.progressProperty());
+                } else if (image.isError()) {
+                    logger.log(Logger.Level.WARNING, "Failed to load image from {0}", url);
+                } else {
+                    logger.log(Logger.Level.INFO, "Loaded image from {0}", url);
+                }
+            } catch (Exception e) {
+                // Failed to load image
+                logger.log(Logger.Level.WARNING, "Failed to load image from {0}", url);
+            }
+        }
+        updateProgress();
+    }
+
+    private void updateProgress() {
+        if (map.isEmpty()) {
+            return;
+        }
+        var sum = 0.0;
+        var done = true;
+        for (var image : map.values()) {
+            if (image.isError()) {
+                sum += 1.0;
+            } else {
+                sum += image.getProgress();
+                done &= image.getProgress() >= 1.0;
+            }
+        }
+        progress.set(sum / map.size());
+        loaded.set(done);
+    }
+
+    /**
+     * {@return the approximate percentage of the images loaded, a value
+     * between 0 and 1}
+     */
+    public double getProgress() {
+        return progress.get();
+    }
+
+    /**
+     * Represents the approximate percentage of the images loaded.
+     */
+    public ReadOnlyDoubleProperty progressProperty() {
+        return progress.getReadOnlyProperty();
+    }
+
+    /**
+     * {@return whether the loading of all images is complete}
+     */
+    public boolean isLoaded() {
+        return loaded.get();
+    }
+
+    /**
+     * Represents whether the loading of all images is complete, including
+     * the ones failed to load.
+     */
+    public ReadOnlyBooleanProperty loadedProperty() {
+        return loaded.getReadOnlyProperty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param constant the constant for which the associated image should be
+     *                 returned
+     */
+    @Override
+    public Optional<Image> get(T constant) {
+        return Optional.ofNullable(map.get(constant))
+                .filter(image -> !image.isError());
+    }
+
+}
@@ -0,0 +1,250 @@
+package util.javafx;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.image.Image;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * A bounded cache of images keyed by resource URL and requested size. It
+ * enables several {@link ImageStorage} instances to share the same images
+ * instead of decoding and holding their own copies.
+ *
+ * <p>The memory occupied by an image is estimated as four bytes per pixel.
+ * When the total size of the images exceeds the budget of the cache, the least
+ * recently used images are evicted. Images that are still being loaded in the
+ * background are not taken into account until their size is known, and the
+ * budget is enforced again when their loading completes.
+ *
+ * <p>The methods of this class are thread-safe.
+ */
+public class ImageCache {
+
+    /**
+     * The budget of the default cache in bytes.
+     */
+    public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+
+    private static final ImageCache DEFAULT = new ImageCache(DEFAULT_BUDGET);
+
+    private record Key(String url, double requestedWidth, double requestedHeight) {}
+
+    private static class Entry {
+        final Image image;
+        long size;
+        boolean cached = true;
+
+        Entry(Image image) {
+            this.image = image;
+            this.size = sizeOf(image);
+        }
+    }
+
+    private final long budget;
+    private final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates an empty {@code ImageCache} with the budget specified.
+     *
+     * @param budget the maximum total size of the images in bytes
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public ImageCache(long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.budget = budget;
+    }
+
+    /**
+     * {@return the process-wide cache} Its budget is
+     * {@value #DEFAULT_BUDGET} bytes.
+     */
+    public static ImageCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the image with the URL specified in its original size. The image
+     * is loaded if it is not in the cache.
+     *
+     * @param url the URL of the image, or the name of a resource to be loaded
+     *            via the classloader
+     * @param backgroundLoading whether the image should be loaded in the
+     *                          background if it is not in the cache, otherwise
+     *                          the image returned is always completely loaded
+     * @return the image with the URL specified
+     * @throws IllegalArgumentException if the URL is invalid or the resource
+     * is not found
+     */
+    public Image get(String url, boolean backgroundLoading) {
+        return get(url, 0, 0, backgroundLoading);
+    }
+
+    /**
+     * Returns the image with the URL specified scaled to fit within the
+     * bounding box specified. The aspect ratio of the image is preserved. The
+     * image is loaded if it is not in the cache.
+     *
+     * @param url the URL of the image, or the name of a resource to be loaded
+     *            via the classloader
+     * @param requestedWidth the width of the bounding box, or 0 to use the
+     *                       original width
+     * @param requestedHeight the height of the bounding box, or 0 to use the
+     *                        original height
+     * @param backgroundLoading whether the image should be loaded in the
+     *                          background if it is not in the cache, otherwise
+     *                          the image returned is always completely loaded
+     * @return the image with the URL specified
+     * @throws IllegalArgumentException if the URL is invalid or the resource
+     * is not found
+     */
+    public Image get(String url, double requestedWidth, double requestedHeight, boolean backgroundLoading) {
+        var key = new Key(Objects.requireNonNull(url), requestedWidth, requestedHeight);
+        synchronized (this) {
+            var entry = map.get(key);
+            if (entry != null && isUsable(entry.image, backgroundLoading)) {
+                hitCount++;
+                return entry.image;
+            }
+            missCount++;
+        }
+        // The image is loaded without holding the lock
+        var image = new Image(url, requestedWidth, requestedHeight, true, true, backgroundLoading);
+        var entry = new Entry(image);
+        synchronized (this) {
+            var cached = map.get(key);
+            if (cached != null && isUsable(cached.image, backgroundLoading)) {
+                return cached.image;
+            }
+            var replaced = map.put(key, entry);
+            if (replaced != null) {
+                replaced.cached = false;
+                size -= replaced.size;
+            }
+            size += entry.size;
+            trim();
+        }
+        if (entry.size == 0 && !image.isError()) {
+            var listener = new InvalidationListener() {
+                @Override
+                public void invalidated(Observable observable) {
+                    if (image.getProgress() >= 1.0 || image.isError()) {
+                        image.progressProperty().removeListener(this);
+                        loaded(entry);
+                    }
+                }
+            };
+            image.progressProperty().addListener(listener);
+            // The loading might have completed before adding the listener
+            listener.invalidated(image.progressProperty());
+        }
+        return image;
+    }
+
+    /**
+     * {@return whether a cached image can be returned} An image still being
+     * loaded in the background is not returned to a synchronous request,
+     * since the caller expects a completely loaded image. Instead, the image
+     * is loaded synchronously and replaces the cached one.
+     */
+    private static boolean isUsable(Image image, boolean backgroundLoading) {
+        return !image.isError() && (backgroundLoading || image.getProgress() >= 1.0);
+    }
+
+    /**
+     * Charges the actual size of an image loaded in the background, and
+     * enforces the budget again.
+     */
+    private synchronized void loaded(Entry entry) {
+        if (!entry.cached) {
+            return;
+        }
+        var loadedSize = sizeOf(entry.image);
+        size += loadedSize - entry.size;
+        entry.size = loadedSize;
+        trim();
+    }
+
+    private void trim() {
+        var iterator = map.values().iterator();
+        // The most recently used image is never evicted
+        while (size > budget && map.size() > 1) {
+            var entry = iterator.next();
+            entry.cached = false;
+            size -= entry.size;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * {@return the estimated total size of the images in the cache in bytes}
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * {@return the maximum total size of the images in bytes}
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * {@return the number of images in the cache}
+     */
+    public synchronized int getImageCount() {
+        return map.size();
+    }
+
+    /**
+     * {@return the number of lookups that found the image in the cache}
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * {@return the number of lookups that had to load the image}
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * {@return the number of images evicted from the cache}
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Removes all the images from the cache.
+     */
+    public synchronized void clear() {
+        for (var entry : map.values()) {
+            entry.cached = false;
+        }
+        map.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ImageCache[images=%d, size=%d, budget=%d, hits=%d, misses=%d, evictions=%d]",
+                map.size(), size, budget, hitCount, missCount, evictionCount);
+    }
+
+}